@@ -0,0 +1,105 @@
+package com.waylau.netty.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * 编解码器基准测试的基类.
+ * 
+ * 子类只需提供消息和编解码器，基类通过 EmbeddedChannel 分别测量编码和解码的吞吐量。
+ * 加上 -prof gc 运行时，gc.alloc.rate.norm 即为每条消息分配的字节数。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractCodecBenchmark {
+
+	/**
+	 * 允许的最大帧长度，需能容纳 {@link Payload#LARGE} 及其消息头
+	 */
+	protected static final int MAX_FRAME_LENGTH = 2 * 1024 * 1024;
+
+	@Param
+	public Payload payload;
+
+	private Object message;
+	private ByteBuf encoded;
+	private EmbeddedChannel encodeChannel;
+	private EmbeddedChannel decodeChannel;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		message = newMessage(payload);
+		encodeChannel = new EmbeddedChannel(newEncoders());
+		decodeChannel = new EmbeddedChannel(newDecoders());
+
+		// 预先编码一次，作为解码测试的输入
+		encodeChannel.writeOutbound(ReferenceCountUtil.retain(message));
+		encoded = encodeChannel.readOutbound();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		encoded.release();
+		ReferenceCountUtil.release(message);
+		encodeChannel.finishAndReleaseAll();
+		decodeChannel.finishAndReleaseAll();
+	}
+
+	@Benchmark
+	public int encode() {
+		// 编码器写出后会释放消息，因此每次都先 retain
+		encodeChannel.writeOutbound(ReferenceCountUtil.retain(message));
+		ByteBuf out = encodeChannel.readOutbound();
+		int size = out.readableBytes();
+		out.release();
+		return size;
+	}
+
+	@Benchmark
+	public Object decode() {
+		decodeChannel.writeInbound(encoded.retainedDuplicate());
+		Object msg = decodeChannel.readInbound();
+		ReferenceCountUtil.release(msg);
+		return msg;
+	}
+
+	/**
+	 * 构造待编码的消息
+	 */
+	protected abstract Object newMessage(Payload payload) throws Exception;
+
+	/**
+	 * 编码所需的处理器，每次 Trial 新建一次
+	 */
+	protected abstract ChannelHandler[] newEncoders();
+
+	/**
+	 * 解码所需的处理器，每次 Trial 新建一次
+	 */
+	protected abstract ChannelHandler[] newDecoders();
+}
@@ -0,0 +1,34 @@
+package com.waylau.netty.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import com.waylau.netty.demo.factorial.BigIntegerDecoder;
+import com.waylau.netty.demo.factorial.NumberEncoder;
+
+import io.netty.channel.ChannelHandler;
+
+/**
+ * NumberEncoder/BigIntegerDecoder Benchmark.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class BigIntegerCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		// 固定种子，保证每次运行的数据一致
+		return new BigInteger(payload.size() * 8 - 1, new Random(42));
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new NumberEncoder() };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new BigIntegerDecoder() };
+	}
+}
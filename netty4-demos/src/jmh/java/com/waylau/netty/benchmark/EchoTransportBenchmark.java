@@ -0,0 +1,232 @@
+package com.waylau.netty.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.waylau.netty.util.ServerBootstrapFactory;
+import com.waylau.netty.util.Transport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+
+/**
+ * Echo 传输方式 Benchmark.
+ *
+ * 在同一台机器上对比 NIO（EchoServer）、epoll（EpollEchoServer）和 io_uring（IoUringEchoServer）的回显吞吐量，
+ * 服务端由 ServerBootstrapFactory 按参数创建，客户端使用同一种传输方式，双方各一个 EventLoop 线程。
+ * 每次调用经 4 个连接发出 256 条消息，等待全部回显，得分为每秒回显的消息数。
+ * EchoServerHandler 会打印每条消息，这里使用不打印的等价处理器。
+ *
+ * readIoCalls/writeIoCalls 来自 /proc/self/io 的 syscr/syscw，只统计整个进程每秒的 read/write 类系统调用，
+ * 不含 epoll_wait、io_uring_enter，也不含通过 io_uring 提交的读写，因此不能用来比较不同传输方式的系统调用开销，
+ * 只适合对比 NIO 与 epoll 的读写次数。比较各传输方式时用 perf 统计全部系统调用：
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar EchoTransportBenchmark -prof "perfnorm:events=raw_syscalls:sys_enter"
+ * </pre>
+ *
+ * 当前机器不支持的传输方式会在 Setup 时失败并跳过。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EchoTransportBenchmark {
+
+	private static final int CONNECTIONS = 4;
+	private static final int BATCH = 256;
+
+	@Param({ "NIO", "EPOLL", "IO_URING" })
+	public Transport transport;
+
+	@Param({ "64", "4096" })
+	public int messageSize;
+
+	private EventLoopGroup bossGroup;
+	private EventLoopGroup workerGroup;
+	private EventLoopGroup clientGroup;
+	private Channel server;
+	private final Channel[] clients = new Channel[CONNECTIONS];
+	private ByteBuf message;
+
+	private final AtomicLong remaining = new AtomicLong(); // 本次调用尚未回显的字节数
+	private volatile CompletableFuture<Void> echoed;
+
+	/**
+	 * 原样写回，每批读取后冲刷一次
+	 */
+	@Sharable
+	private static final class EchoHandler extends ChannelInboundHandlerAdapter {
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			ctx.write(msg);
+		}
+
+		@Override
+		public void channelReadComplete(ChannelHandlerContext ctx) {
+			ctx.flush();
+		}
+	}
+
+	/**
+	 * 统计回显的字节数，全部收到时完成本次调用
+	 */
+	@Sharable
+	private final class Receiver extends ChannelInboundHandlerAdapter {
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			ByteBuf buf = (ByteBuf) msg;
+			long left = remaining.addAndGet(-buf.readableBytes());
+			buf.release();
+			if (left == 0) {
+				echoed.complete(null);
+			}
+		}
+	}
+
+	/**
+	 * 每轮迭代中进程的 read/write 类系统调用数（/proc/self/io 的 syscr/syscw）
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class IoCalls {
+		public long readIoCalls;
+		public long writeIoCalls;
+
+		private long[] start;
+
+		@Setup(Level.Iteration)
+		public void begin() {
+			readIoCalls = 0;
+			writeIoCalls = 0;
+			start = readProcIo();
+		}
+
+		@TearDown(Level.Iteration)
+		public void end() {
+			long[] now = readProcIo();
+			readIoCalls = now[0] - start[0];
+			writeIoCalls = now[1] - start[1];
+		}
+
+		/**
+		 * 读取 syscr 和 syscw，不是 Linux 时返回 0
+		 */
+		private static long[] readProcIo() {
+			long[] counts = new long[2];
+			try {
+				for (String line : Files.readAllLines(Paths.get("/proc/self/io"), StandardCharsets.US_ASCII)) {
+					if (line.startsWith("syscr:")) {
+						counts[0] = Long.parseLong(line.substring(6).trim());
+					} else if (line.startsWith("syscw:")) {
+						counts[1] = Long.parseLong(line.substring(6).trim());
+					}
+				}
+			} catch (IOException e) {
+				// 没有 /proc/self/io
+			}
+			return counts;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws InterruptedException {
+		if (!transport.isAvailable()) {
+			throw new IllegalStateException(transport + " is not available on this machine");
+		}
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder()
+				.transport(transport)
+				.workerThreads(1)
+				.build();
+		bossGroup = factory.newBossGroup();
+		workerGroup = factory.newWorkerGroup();
+		server = factory.newServerBootstrap()
+				.group(bossGroup, workerGroup)
+				.childHandler(new EchoHandler())
+				.bind("localhost", 0).sync().channel();
+
+		clientGroup = transport.newEventLoopGroup(1);
+		Bootstrap b = new Bootstrap()
+				.group(clientGroup)
+				.channel(transport.socketChannelClass())
+				.option(ChannelOption.TCP_NODELAY, true)
+				.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+				.handler(new Receiver());
+		for (int i = 0; i < CONNECTIONS; i++) {
+			clients[i] = b.connect(server.localAddress()).sync().channel();
+		}
+		message = Unpooled.directBuffer(messageSize).writeZero(messageSize);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (Channel client : clients) {
+			if (client != null) {
+				client.close().syncUninterruptibly();
+			}
+		}
+		if (server != null) {
+			server.close().syncUninterruptibly();
+		}
+		if (message != null) {
+			message.release();
+		}
+		for (EventLoopGroup group : new EventLoopGroup[] { clientGroup, workerGroup, bossGroup }) {
+			if (group != null) {
+				group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void echo(IoCalls ioCalls) throws Exception {
+		CompletableFuture<Void> future = new CompletableFuture<Void>();
+		echoed = future;
+		remaining.set((long) BATCH * messageSize);
+		// 所有客户端连接在同一个 EventLoop 中，一次任务内写出并冲刷
+		clientGroup.next().execute(() -> {
+			for (int i = 0; i < BATCH; i++) {
+				clients[i % CONNECTIONS].write(message.retainedDuplicate());
+			}
+			for (Channel client : clients) {
+				client.flush();
+			}
+		});
+		future.get(10, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,70 @@
+package com.waylau.netty.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.waylau.netty.demo.codec.jackcon.JacksonBean;
+import com.waylau.netty.demo.codec.jackcon.JacksonDecoder;
+import com.waylau.netty.demo.codec.jackcon.JacksonEncoder;
+import com.waylau.netty.demo.codec.jackcon.JacksonFormat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * JacksonEncoder/JacksonDecoder Benchmark.
+ * 
+ * 对比文本 JSON 与二进制的 Smile、CBOR，每组参数开始时输出一条消息在线路上的字节数。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class JacksonCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Param
+	public JacksonFormat format;
+
+	@Setup(Level.Trial)
+	public void printWireSize() {
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonEncoder(format));
+		channel.writeOutbound(newMessage(payload));
+		ByteBuf encoded = channel.readOutbound();
+		System.out.println("bytes on wire: format=" + format + ", payload=" + payload
+				+ ", bytes=" + encoded.readableBytes());
+		encoded.release();
+		channel.finishAndReleaseAll();
+	}
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		JacksonBean bean = new JacksonBean();
+		bean.setAge(27);
+		bean.setName(payload.text());
+		List<String> sons = new ArrayList<String>();
+		Map<String, String> addrs = new HashMap<String, String>();
+		for (int i = 0; i < 10; i++) {
+			sons.add("Lucy" + i);
+			addrs.put("001" + i, "18998366112");
+		}
+		bean.setSons(sons);
+		bean.setAddrs(addrs);
+		return bean;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new JacksonEncoder(format) };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new JacksonDecoder<JacksonBean>(JacksonBean.class, format) };
+	}
+}
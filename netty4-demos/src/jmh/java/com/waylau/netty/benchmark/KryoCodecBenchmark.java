@@ -0,0 +1,36 @@
+package com.waylau.netty.benchmark;
+
+import com.waylau.netty.demo.kryo.codec.NettyKryoDecoder;
+import com.waylau.netty.demo.kryo.codec.NettyKryoEncoder;
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+
+import io.netty.channel.ChannelHandler;
+
+/**
+ * NettyKryoEncoder/NettyKryoDecoder Benchmark.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class KryoCodecBenchmark extends AbstractCodecBenchmark {
+
+	private final KryoSerializer serializer = new KryoSerializer();
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		return RpcRequest.builder()
+				.interfaceName(payload.text())
+				.methodName("hello").build();
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new NettyKryoEncoder(serializer, RpcRequest.class) };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new NettyKryoDecoder(serializer, RpcRequest.class) };
+	}
+}
@@ -0,0 +1,98 @@
+package com.waylau.netty.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+
+/**
+ * KryoSerializer Benchmark.
+ * 
+ * 对比复用 Kryo 及读写缓冲区的 KryoSerializer 与每次新建 Kryo 的旧实现。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoSerializerBenchmark {
+
+	@Param
+	public Payload payload;
+
+	private final KryoSerializer serializer = new KryoSerializer();
+
+	private RpcRequest request;
+	private byte[] serialized;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		request = RpcRequest.builder()
+				.interfaceName(payload.text())
+				.methodName("hello").build();
+		serialized = serializer.serialize(request);
+	}
+
+	@Benchmark
+	public byte[] serialize() {
+		return serializer.serialize(request);
+	}
+
+	@Benchmark
+	public RpcRequest deserialize() {
+		return serializer.deserialize(serialized, RpcRequest.class);
+	}
+
+	@Benchmark
+	public byte[] legacySerialize() throws Exception {
+		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+				Output output = new Output(byteArrayOutputStream)) {
+			newKryo().writeObject(output, request);
+			output.flush();
+			return byteArrayOutputStream.toByteArray();
+		}
+	}
+
+	@Benchmark
+	public RpcRequest legacyDeserialize() throws Exception {
+		try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(serialized);
+				Input input = new Input(byteArrayInputStream)) {
+			return newKryo().readObject(input, RpcRequest.class);
+		}
+	}
+
+	/**
+	 * 旧实现每次用完即 remove ThreadLocal，相当于每次都新建并注册 Kryo
+	 */
+	private static Kryo newKryo() {
+		Kryo kryo = new Kryo();
+		kryo.register(RpcResponse.class);
+		kryo.register(RpcRequest.class);
+		kryo.setReferences(true);
+		kryo.setRegistrationRequired(false);
+		return kryo;
+	}
+}
@@ -0,0 +1,35 @@
+package com.waylau.netty.benchmark;
+
+import com.waylau.netty.demo.codec.Msg;
+import com.waylau.netty.demo.codec.MsgHeader;
+import com.waylau.netty.demo.codec.MsgType;
+import com.waylau.netty.demo.codec.MyCodec;
+
+import io.netty.channel.ChannelHandler;
+
+/**
+ * codec.MyCodec Benchmark.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class MyCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		Msg msg = new Msg();
+		msg.setMsgHeader(new MsgHeader(MsgType.EMGW_LOGIN_REQ.getValue(), 0));
+		msg.setBody(payload.text());
+		return msg;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new MyCodec(MAX_FRAME_LENGTH) };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new MyCodec(MAX_FRAME_LENGTH) };
+	}
+}
@@ -0,0 +1,36 @@
+package com.waylau.netty.benchmark;
+
+import com.waylau.netty.demo.codec.serialization.SerializationBean;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+
+/**
+ * ObjectEncoder/ObjectDecoder Benchmark.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class ObjectCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		SerializationBean bean = new SerializationBean();
+		bean.setAge(27);
+		bean.setName(payload.text());
+		return bean;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new ObjectEncoder() };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new ObjectDecoder(MAX_FRAME_LENGTH,
+				ClassResolvers.weakCachingConcurrentResolver(getClass().getClassLoader())) };
+	}
+}
@@ -0,0 +1,40 @@
+package com.waylau.netty.benchmark;
+
+/**
+ * 基准测试使用的消息体大小.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public enum Payload {
+	SMALL(64),
+	MEDIUM(4 * 1024),
+	LARGE(1024 * 1024);
+
+	private static final String POEM = "床前明月光，疑是地上霜。举头望明月，低头思故乡。";
+
+	private final int size;
+
+	Payload(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * 消息体的字节数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * UTF-8 编码后约为 {@link #size()} 字节的文本
+	 */
+	public String text() {
+		int chars = size / 3; // 每个汉字 UTF-8 编码为 3 个字节
+		StringBuilder sb = new StringBuilder(chars);
+		for (int i = 0; i < chars; i++) {
+			sb.append(POEM.charAt(i % POEM.length()));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,46 @@
+package com.waylau.netty.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.waylau.netty.demo.protocol.MsgType;
+import com.waylau.netty.demo.protocol.ProtocolDecoder;
+import com.waylau.netty.demo.protocol.ProtocolEncoder;
+import com.waylau.netty.demo.protocol.ProtocolHeader;
+import com.waylau.netty.demo.protocol.ProtocolMsg;
+
+import io.netty.channel.ChannelHandler;
+
+/**
+ * ProtocolEncoder/ProtocolDecoder Benchmark.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class ProtocolCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean zeroCopy;
+
+	@Param({ "false", "true" })
+	public boolean pooled;
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader((byte) 0x01,
+				MsgType.EMGW_LOGIN_REQ.getValue(), (short) 0, (short) 0, 0));
+		msg.setBody(payload.text());
+		return msg;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new ProtocolEncoder() };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] {
+				new ProtocolDecoder(MAX_FRAME_LENGTH, 6, 4, 0, 0, true, zeroCopy, pooled) };
+	}
+}
@@ -0,0 +1,70 @@
+package com.waylau.netty.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.waylau.netty.demo.protocol.MsgType;
+import com.waylau.netty.demo.protocol.ProtocolCompressionHandler;
+import com.waylau.netty.demo.protocol.ProtocolEncoder;
+import com.waylau.netty.demo.protocol.ProtocolHeader;
+import com.waylau.netty.demo.protocol.ProtocolMsg;
+import com.waylau.netty.demo.protocol.ProtocolMsgDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * ProtocolCompressionHandler Benchmark.
+ * 
+ * 对比压缩前后的编解码吞吐量，每组参数开始时输出一条消息在线路上的字节数。
+ * 为了在各个大小下都能比较，压缩阈值设为 0。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class ProtocolCompressionBenchmark extends AbstractCodecBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean compression;
+
+	@Setup(Level.Trial)
+	public void printWireSize() {
+		EmbeddedChannel channel = new EmbeddedChannel(newEncoders());
+		channel.writeOutbound(newMessage(payload));
+		ByteBuf encoded = channel.readOutbound();
+		System.out.println("bytes on wire: compression=" + compression + ", payload=" + payload
+				+ ", bytes=" + encoded.readableBytes());
+		encoded.release();
+		channel.finishAndReleaseAll();
+	}
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader((byte) 0x01,
+				MsgType.EMGW_LOGIN_REQ.getValue(), (short) 0, (short) 0, 0));
+		msg.setBody(payload.text());
+		return msg;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		if (!compression) {
+			return new ChannelHandler[] { new ProtocolEncoder() };
+		}
+		return new ChannelHandler[] { new ProtocolCompressionHandler(0, MAX_FRAME_LENGTH), new ProtocolEncoder() };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		LengthFieldBasedFrameDecoder frameDecoder = new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH, 6, 4, 0, 0);
+		if (!compression) {
+			return new ChannelHandler[] { frameDecoder, new ProtocolMsgDecoder() };
+		}
+		return new ChannelHandler[] { frameDecoder, new ProtocolCompressionHandler(0, MAX_FRAME_LENGTH),
+				new ProtocolMsgDecoder() };
+	}
+}
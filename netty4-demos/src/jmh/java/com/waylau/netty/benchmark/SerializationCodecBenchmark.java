@@ -0,0 +1,48 @@
+package com.waylau.netty.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.waylau.netty.demo.codec.serialization.SerializationBean;
+import com.waylau.netty.demo.codec.serialization.SerializationBeanCodec;
+import com.waylau.netty.demo.codec.spi.Codec;
+import com.waylau.netty.demo.codec.spi.CodecDecoder;
+import com.waylau.netty.demo.codec.spi.CodecEncoder;
+import com.waylau.netty.demo.codec.spi.Codecs;
+
+import io.netty.channel.ChannelHandler;
+
+/**
+ * CodecEncoder/CodecDecoder Benchmark.
+ * 
+ * 对比 SerializationBean 在各个 Codec 实现下的吞吐量。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class SerializationCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Param({ Codecs.JDK, Codecs.KRYO, Codecs.JACKSON, Codecs.SCHEMA, Codecs.COMPILED })
+	public String codec;
+
+	private Codec<SerializationBean> newCodec() {
+		return Codecs.of(codec, SerializationBean.class, new SerializationBeanCodec());
+	}
+
+	@Override
+	protected Object newMessage(Payload payload) {
+		SerializationBean bean = new SerializationBean();
+		bean.setAge(27);
+		bean.setName(payload.text());
+		return bean;
+	}
+
+	@Override
+	protected ChannelHandler[] newEncoders() {
+		return new ChannelHandler[] { new CodecEncoder<SerializationBean>(newCodec()) };
+	}
+
+	@Override
+	protected ChannelHandler[] newDecoders() {
+		return new ChannelHandler[] { new CodecDecoder<SerializationBean>(newCodec(), MAX_FRAME_LENGTH) };
+	}
+}
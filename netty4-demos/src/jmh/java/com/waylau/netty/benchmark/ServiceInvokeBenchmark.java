@@ -0,0 +1,78 @@
+package com.waylau.netty.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.server.ServiceRegistry;
+import com.waylau.netty.demo.kryo.service.HelloService;
+import com.waylau.netty.demo.kryo.service.HelloServiceImpl;
+
+/**
+ * ServiceRegistry Benchmark.
+ * 
+ * 对比 ServiceRegistry 的 MethodHandle 调用、每次按名称反射查找并 Method.invoke 的朴素实现，
+ * 以及直接调用。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceInvokeBenchmark {
+
+	private final HelloService service = new HelloServiceImpl();
+	private final ServiceRegistry registry = new ServiceRegistry().register(HelloService.class, service);
+
+	private RpcRequest request;
+	private Method cachedMethod;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		request = RpcRequest.builder()
+				.interfaceName(HelloService.class.getName())
+				.methodName("add")
+				.paramTypes(new Class<?>[] { int.class, int.class })
+				.parameters(new Object[] { 1, 2 }).build();
+		cachedMethod = HelloService.class.getMethod("add", int.class, int.class);
+	}
+
+	@Benchmark
+	public Object registry() {
+		return registry.invoke(request);
+	}
+
+	@Benchmark
+	public Object reflectionLookupAndInvoke() throws Exception {
+		Class<?> clazz = Class.forName(request.getInterfaceName());
+		Method method = clazz.getMethod(request.getMethodName(), request.getParamTypes());
+		return method.invoke(service, request.getParameters());
+	}
+
+	@Benchmark
+	public Object cachedMethodInvoke() throws Exception {
+		return cachedMethod.invoke(service, request.getParameters());
+	}
+
+	@Benchmark
+	public int direct() {
+		Object[] parameters = request.getParameters();
+		return service.add((Integer) parameters[0], (Integer) parameters[1]);
+	}
+}
@@ -0,0 +1,11 @@
+/**
+ * 说明：基于 JMH 的编解码器基准测试，需启用 jmh profile
+ * 
+ * <pre>
+ * mvn -Pjmh package -DskipTests
+ * java -jar target/benchmarks.jar -prof gc
+ * </pre>
+ * 
+ * @author <a href="https://waylau.com">Way Lau</a> 2026年10月18日
+ */
+package com.waylau.netty.benchmark;
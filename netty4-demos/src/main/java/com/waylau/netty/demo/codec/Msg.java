@@ -1,5 +1,7 @@
 package com.waylau.netty.demo.codec;
 
+import com.waylau.netty.demo.codec.spi.SchemaField;
+
 /**
  * Message.
  * 
@@ -8,7 +10,9 @@ package com.waylau.netty.demo.codec;
  */
 public class Msg {
 
+	@SchemaField(0)
 	private MsgHeader msgHeader = new MsgHeader();
+	@SchemaField(1)
 	private String body;
 
 	public MsgHeader getMsgHeader() {
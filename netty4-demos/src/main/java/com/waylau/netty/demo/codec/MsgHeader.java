@@ -1,5 +1,7 @@
 package com.waylau.netty.demo.codec;
 
+import com.waylau.netty.demo.codec.spi.SchemaField;
+
 /**
  * Message Header.
  * 
@@ -7,7 +9,9 @@ package com.waylau.netty.demo.codec;
  * @author <a href="https://waylau.com">Way Lau</a>
  */
 public class MsgHeader {
+	@SchemaField(0)
 	private byte msgType; // 消息类型
+	@SchemaField(1)
 	private int len; // 长度
 
 	public MsgHeader() {
@@ -16,4 +16,8 @@ public class MyCodec extends CombinedChannelDuplexHandler<MyDecoder, MyEncoder>
 		super(new MyDecoder(), new MyEncoder());
 	}
 
+	public MyCodec(int maxFrameLength) {
+		super(new MyDecoder(maxFrameLength), new MyEncoder());
+	}
+
 }
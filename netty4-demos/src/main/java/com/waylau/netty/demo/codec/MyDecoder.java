@@ -3,6 +3,7 @@ package com.waylau.netty.demo.codec;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.CharsetUtil;
 
 /**
  * My Decoder.
@@ -13,17 +14,19 @@ import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 public class MyDecoder extends LengthFieldBasedFrameDecoder {
 	
 	private static final int MAX_FRAME_LENGTH = 1024 * 1024;
-	private static final int LENGTH_FIELD_LENGTH = 1;
-	private static final int LENGTH_FIELD_OFFSET = 4;
+	private static final int LENGTH_FIELD_LENGTH = 4;
+	private static final int LENGTH_FIELD_OFFSET = 1;
 	private static final int LENGTH_ADJUSTMENT = 0;
 	private static final int INITIAL_BYTES_TO_STRIP = 0;
 	
 	private static final int HEADER_SIZE = 5;
-	private byte msgType; // 消息类型
-	private int len; // 长度
 
 	public MyDecoder() {
-		super(MAX_FRAME_LENGTH,
+		this(MAX_FRAME_LENGTH);
+	}
+
+	public MyDecoder(int maxFrameLength) {
+		super(maxFrameLength,
 				LENGTH_FIELD_OFFSET, LENGTH_FIELD_LENGTH,
 				LENGTH_ADJUSTMENT, INITIAL_BYTES_TO_STRIP);
 	}
@@ -35,29 +38,32 @@ public class MyDecoder extends LengthFieldBasedFrameDecoder {
 			return null;
 		}
 
-		// 校验头长度
-		if (in.readableBytes() < HEADER_SIZE) {
-			return null;
-		}
+		try {
+			// 校验头长度
+			int index = in.readerIndex();
+			if (in.readableBytes() < HEADER_SIZE) {
+				return null;
+			}
 
-		msgType = in.readByte();
-		len = in.readInt();
+			// 只用局部变量和绝对索引读取消息头，解码器本身不保存状态
+			byte msgType = in.getByte(index);
+			int len = in.getInt(index + 1);
 
-		// 校验消息体长度
-		if (in.readableBytes() < len) {
-			return null;
-		}
+			// 校验消息体长度
+			if (len < 0 || in.readableBytes() - HEADER_SIZE < len) {
+				return null;
+			}
 
-		ByteBuf buf = in.readBytes(len);
-		byte[] req = new byte[buf.readableBytes()];
-		buf.readBytes(req);
-		String body = new String(req, "UTF-8");
-		
-		// ByteBuf转为Msg类型
-		Msg msg = new Msg();
-		MsgHeader msgHeader = new MsgHeader(msgType, len);
-		msg.setBody(body);
-		msg.setMsgHeader(msgHeader);
-		return msg;
+			String body = in.toString(index + HEADER_SIZE, len, CharsetUtil.UTF_8);
+
+			// ByteBuf转为Msg类型
+			Msg msg = new Msg();
+			MsgHeader msgHeader = new MsgHeader(msgType, len);
+			msg.setBody(body);
+			msg.setMsgHeader(msgHeader);
+			return msg;
+		} finally {
+			in.release();
+		}
 	}
 }
@@ -1,13 +1,13 @@
 package com.waylau.netty.demo.codec;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 
@@ -26,11 +26,12 @@ public class MyServer {
 	}
 
 	public void run() throws Exception {
-		EventLoopGroup bossGroup = new NioEventLoopGroup();
-		EventLoopGroup workerGroup = new NioEventLoopGroup();
+		ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+		EventLoopGroup bossGroup = factory.newBossGroup();
+		EventLoopGroup workerGroup = factory.newWorkerGroup();
 		try {
-			ServerBootstrap b = new ServerBootstrap();
-			b.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class)
+			ServerBootstrap b = factory.newServerBootstrap();
+			b.group(bossGroup, workerGroup)
 					.childHandler(new ChannelInitializer<SocketChannel>() {
 						@Override
 						public void initChannel(SocketChannel ch) throws Exception {
@@ -38,7 +38,7 @@ public class JacksonClient {
             Bootstrap bootstrap  = new Bootstrap()
                     .group(group)
                     .channel(NioSocketChannel.class)
-		            .handler(new JacksonClientInitializer());
+		            .handler(new JacksonClientInitializer(JacksonServer.FORMAT));
             
             Channel channel = bootstrap.connect(host, port).sync().channel();
 
@@ -18,7 +18,7 @@ public class JacksonClientHandler extends
 		String jsonString = "";
 		if (obj instanceof JacksonBean) {
 			JacksonBean user = (JacksonBean) obj;
-			jsonString = JacksonMapper.getInstance().writeValueAsString(user); // 对象转为json字符串
+			jsonString = JacksonMapper.writerFor(JacksonBean.class).writeValueAsString(user); // 对象转为json字符串
 			System.out.println("Server -> Client: " + jsonString);
 		}
 	}
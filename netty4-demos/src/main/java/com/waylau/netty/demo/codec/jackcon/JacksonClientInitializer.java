@@ -12,12 +12,27 @@ import io.netty.channel.ChannelPipeline;
  */
 public class JacksonClientInitializer extends
 		ChannelInitializer<Channel> {
- 
+
+	private final JacksonFormat format;
+	private final JacksonEncoder encoder;
+
+	public JacksonClientInitializer() {
+		this(JacksonFormat.JSON);
+	}
+
+	/**
+	 * @param format 消息体的线路格式，两端需一致
+	 */
+	public JacksonClientInitializer(JacksonFormat format) {
+		this.format = format;
+		this.encoder = new JacksonEncoder(format);
+	}
+
 	@Override
 	protected void initChannel(Channel ch) throws Exception {
 		ChannelPipeline pipeline = ch.pipeline();
-		pipeline.addLast(new JacksonDecoder<JacksonBean>(JacksonBean.class));
-		pipeline.addLast(new JacksonEncoder());
+		pipeline.addLast(new JacksonDecoder<JacksonBean>(JacksonBean.class, format));
+		pipeline.addLast(encoder);
 		pipeline.addLast(new JacksonClientHandler());
 	}
 }
\ No newline at end of file
@@ -3,33 +3,201 @@ package com.waylau.netty.demo.codec.jackcon;
 import java.io.InputStream;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
 
 /**
  * Jackson Decoder.
  * 
+ * 帧格式为 4 字节长度 + 消息体，消息体的格式见 {@link JacksonFormat}。
+ * 消息体不在缓冲区中累积，而是随到随喂给 Jackson 的非阻塞解析器，
+ * 已解析的 token 暂存在 TokenBuffer 中，整个消息体只解析一遍。
+ * 不支持非阻塞解析的格式（CBOR）则收齐整帧后再解析。
+ * 每个连接需要独立的实例。
+ * 
  * @since 1.0.0 2020年1月2日
  * @author <a href="https://waylau.com">Way Lau</a>
  */
 public class JacksonDecoder<T> extends ByteToMessageDecoder {
 
-    private final Class<T> clazz;
+	/**
+	 * 长度字段的字节数
+	 */
+	public static final int LENGTH_FIELD_LENGTH = 4;
+
+	private static final int DEFAULT_MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+	/**
+	 * 直接内存时每次拷贝给解析器的最大字节数
+	 */
+	private static final int CHUNK_SIZE = 8 * 1024;
+
+	private final ObjectMapper mapper;
+	private final ObjectReader reader;
+	private final int maxFrameLength;
+	private final boolean streaming;
+
+	private JsonParser parser;
+	private TokenBuffer tokens;
+	private byte[] chunk;
+	private int depth;
+	private int remaining = -1; // 当前帧尚未读取的字节数，-1 表示等待长度字段
+	private boolean discarding;
+
+	public JacksonDecoder(Class<T> clazz) {
+		this(clazz, JacksonFormat.JSON);
+	}
+
+	public JacksonDecoder(Class<T> clazz, int maxFrameLength) {
+		this(clazz, JacksonFormat.JSON, maxFrameLength);
+	}
 
-    public JacksonDecoder(Class<T> clazz) {
-        this.clazz = clazz;
+	public JacksonDecoder(Class<T> clazz, JacksonFormat format) {
+		this(clazz, format, DEFAULT_MAX_FRAME_LENGTH);
+	}
+
+	public JacksonDecoder(Class<T> clazz, JacksonFormat format, int maxFrameLength) {
+		this.mapper = format.mapper();
+		this.reader = format.readerFor(clazz);
+		this.maxFrameLength = maxFrameLength;
+		this.streaming = format.canParseAsync();
 	}
 
 	@Override
 	protected void decode(ChannelHandlerContext ctx, ByteBuf in,
 			List<Object> out) throws Exception {
-        InputStream byteBufInputStream = new ByteBufInputStream(in);
-        ObjectMapper mapper = JacksonMapper.getInstance();
-        out.add(mapper.readValue(byteBufInputStream, clazz));
+		while (in.isReadable()) {
+			if (remaining < 0) {
+				if (in.readableBytes() < LENGTH_FIELD_LENGTH) {
+					return;
+				}
+				int length = in.readInt();
+				if (length < 0) {
+					throw new CorruptedFrameException("negative frame length: " + length);
+				}
+				remaining = length;
+				discarding = length > maxFrameLength;
+				if (discarding) {
+					// 超长的帧直接丢弃，不占用内存
+					ctx.fireExceptionCaught(new TooLongFrameException(
+							"frame length exceeds " + maxFrameLength + ": " + length));
+				}
+			}
+
+			if (!streaming && !discarding && in.readableBytes() < remaining) {
+				return; // 等待整帧到达
+			}
+
+			int n = Math.min(in.readableBytes(), remaining);
+			int start = in.readerIndex();
+			try {
+				if (discarding) {
+					in.skipBytes(n);
+				} else if (streaming) {
+					feed(in, n, out);
+				} else {
+					try (InputStream is = new ByteBufInputStream(in.readSlice(n))) {
+						out.add(reader.readValue(is));
+					}
+				}
+			} catch (Exception e) {
+				// 解析失败，丢弃当前帧的剩余部分，从下一帧重新开始
+				discarding = true;
+				throw e;
+			} finally {
+				remaining -= in.readerIndex() - start;
+			}
+
+			if (remaining == 0) {
+				remaining = -1;
+				boolean incomplete = !discarding && depth != 0;
+				discarding = false;
+				// 每帧是独立的文档（Smile 每帧都带文档头），下一帧使用新的解析器
+				reset();
+				if (incomplete) {
+					throw new CorruptedFrameException("incomplete JSON document in frame");
+				}
+			}
+		}
+	}
+
+	/**
+	 * 把 n 个字节交给解析器，每解析完一个完整的 JSON 值就输出一个对象
+	 */
+	private void feed(ByteBuf in, int n, List<Object> out) throws Exception {
+		if (parser == null) {
+			parser = mapper.getFactory().createNonBlockingByteArrayParser();
+			tokens = new TokenBuffer(mapper, false);
+		}
+		ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+		try {
+			if (in.hasArray()) {
+				int start = in.arrayOffset() + in.readerIndex();
+				feeder.feedInput(in.array(), start, start + n);
+				in.skipBytes(n);
+				parseAvailable(out);
+			} else {
+				if (chunk == null) {
+					chunk = new byte[CHUNK_SIZE];
+				}
+				while (n > 0) {
+					int len = Math.min(n, chunk.length);
+					in.readBytes(chunk, 0, len);
+					feeder.feedInput(chunk, 0, len);
+					parseAvailable(out);
+					n -= len;
+				}
+			}
+		} catch (Exception e) {
+			reset();
+			throw e;
+		}
+	}
+
+	/**
+	 * 消费解析器中已有的全部 token，之后才能继续喂入数据
+	 */
+	private void parseAvailable(List<Object> out) throws Exception {
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+			tokens.copyCurrentEvent(parser);
+			if (token.isStructStart()) {
+				depth++;
+			} else if (token.isStructEnd()) {
+				depth--;
+			}
+			if (depth == 0) {
+				try (JsonParser p = tokens.asParser()) {
+					out.add(reader.readValue(p));
+				}
+				tokens = new TokenBuffer(mapper, false);
+			}
+		}
+	}
+
+	private void reset() throws Exception {
+		if (parser != null) {
+			parser.close();
+		}
+		parser = null;
+		tokens = null;
+		depth = 0;
+	}
+
+	@Override
+	protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+		reset();
 	}
 
 }
@@ -1,26 +1,74 @@
 package com.waylau.netty.demo.codec.jackcon;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 /**
  * Jackson Encoder.
  * 
+ * 帧格式为 4 字节长度 + 消息体，与 {@link JacksonDecoder} 对应，消息体的格式见 {@link JacksonFormat}。
+ * 消息体经 ByteBufOutputStream 直接写入缓冲区，不再生成中间的 byte[]；
+ * 缓冲区按同类消息上一次编码的大小分配，一般无需扩容。
+ * 
  * @since 1.0.0 2020年1月2日
  * @author <a href="https://waylau.com">Way Lau</a>
  */
+@Sharable
 public class JacksonEncoder extends MessageToByteEncoder<Object> {
 
+	private static final int LENGTH_FIELD_LENGTH = JacksonDecoder.LENGTH_FIELD_LENGTH;
+
+	private static final int DEFAULT_SIZE_ESTIMATE = 256;
+
+	private final JacksonFormat format;
+
+	/**
+	 * 每个类型上一次编码的消息体大小
+	 */
+	private final ClassValue<int[]> sizeEstimates = new ClassValue<int[]>() {
+		@Override
+		protected int[] computeValue(Class<?> type) {
+			return new int[] { DEFAULT_SIZE_ESTIMATE };
+		}
+	};
+
+	public JacksonEncoder() {
+		this(JacksonFormat.JSON);
+	}
+
+	public JacksonEncoder(JacksonFormat format) {
+		this.format = format;
+	}
+
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg,
+			boolean preferDirect) throws Exception {
+		// 多个线程可能同时读写该估计值，读到旧值只影响初始容量
+		int capacity = LENGTH_FIELD_LENGTH + sizeEstimates.get(msg.getClass())[0];
+		if (preferDirect) {
+			return ctx.alloc().ioBuffer(capacity);
+		} else {
+			return ctx.alloc().heapBuffer(capacity);
+		}
+	}
+
 	@Override
 	protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) 
 			throws Exception {
+		int lengthIndex = out.writerIndex();
+		out.writeInt(0); // 长度占位，写完消息体后回填
+
+		OutputStream os = new ByteBufOutputStream(out);
+		format.writerFor(msg.getClass()).writeValue(os, msg); // 对象直接序列化到缓冲区
 
-		ObjectMapper mapper = JacksonMapper.getInstance();
-		byte[] body = mapper.writeValueAsBytes(msg); // 将对象转换为byte
-		out.writeBytes(body); // 消息体中包含我们要发送的数据
+		int length = out.writerIndex() - lengthIndex - LENGTH_FIELD_LENGTH;
+		out.setInt(lengthIndex, length);
+		sizeEstimates.get(msg.getClass())[0] = length;
 	}
 
 }
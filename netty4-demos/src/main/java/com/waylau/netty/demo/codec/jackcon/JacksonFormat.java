@@ -0,0 +1,106 @@
+package com.waylau.netty.demo.codec.jackcon;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Jackson 线路格式.
+ * 
+ * 同一个 {@link JacksonBean} 可以用文本 JSON 或二进制的 Smile、CBOR 传输，
+ * 二进制格式省去了文本解析，消息也更小。每种格式各有一个 ObjectMapper，
+ * 并按类缓存 ObjectReader/ObjectWriter。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public enum JacksonFormat {
+
+	JSON {
+		@Override
+		JsonFactory newFactory() {
+			return new JsonFactory();
+		}
+	},
+
+	SMILE {
+		@Override
+		JsonFactory newFactory() {
+			return new SmileFactory();
+		}
+	},
+
+	CBOR {
+		@Override
+		JsonFactory newFactory() {
+			return new CBORFactory();
+		}
+	};
+
+	private final ObjectMapper mapper = newMapper(Boolean.getBoolean(JacksonMapper.AFTERBURNER_PROPERTY));
+
+	private final ClassValue<ObjectReader> readers = new ClassValue<ObjectReader>() {
+		@Override
+		protected ObjectReader computeValue(Class<?> type) {
+			return mapper.readerFor(type);
+		}
+	};
+
+	private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+		@Override
+		protected ObjectWriter computeValue(Class<?> type) {
+			return mapper.writerFor(type);
+		}
+	};
+
+	abstract JsonFactory newFactory();
+
+	public ObjectMapper mapper() {
+		return mapper;
+	}
+
+	/**
+	 * 返回该类型缓存的 ObjectReader
+	 */
+	public ObjectReader readerFor(Class<?> type) {
+		return readers.get(type);
+	}
+
+	/**
+	 * 返回该类型缓存的 ObjectWriter
+	 */
+	public ObjectWriter writerFor(Class<?> type) {
+		return writers.get(type);
+	}
+
+	/**
+	 * 是否支持非阻塞解析，不支持时解码器需收齐整帧再解析
+	 */
+	public boolean canParseAsync() {
+		return mapper.getFactory().canParseAsync();
+	}
+
+	/**
+	 * 创建该格式的 ObjectMapper
+	 * 
+	 * @param afterburner 是否启用 Afterburner 字节码加速
+	 */
+	public ObjectMapper newMapper(boolean afterburner) {
+		ObjectMapper mapper = new ObjectMapper(newFactory());
+		if (afterburner) {
+			mapper.registerModule(new AfterburnerModule());
+		}
+		return mapper;
+	}
+
+	/**
+	 * 按名称解析格式，忽略大小写
+	 */
+	public static JacksonFormat of(String name) {
+		return valueOf(name.toUpperCase());
+	}
+}
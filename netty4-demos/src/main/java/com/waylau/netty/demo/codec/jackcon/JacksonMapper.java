@@ -1,19 +1,51 @@
 package com.waylau.netty.demo.codec.jackcon;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * ObjectMapper instance.
  * 
+ * 按类缓存预先构建的 ObjectReader/ObjectWriter，避免每次读写都查找序列化器。
+ * 启动时指定 -Djackson.afterburner=true 可启用 Afterburner 字节码加速。
+ * 其他线路格式见 {@link JacksonFormat}。
+ * 
  * @since 1.0.0 2020年1月2日
  * @author <a href="https://waylau.com">Way Lau</a>
  */
 public class JacksonMapper {
 
-	private static final ObjectMapper MAPPER = new ObjectMapper();
+	/**
+	 * 是否启用 Afterburner 的系统属性
+	 */
+	public static final String AFTERBURNER_PROPERTY = "jackson.afterburner";
 
 	public static ObjectMapper getInstance() {
-		return MAPPER;
+		return JacksonFormat.JSON.mapper();
+	}
+
+	/**
+	 * 返回该类型缓存的 ObjectReader
+	 */
+	public static ObjectReader readerFor(Class<?> type) {
+		return JacksonFormat.JSON.readerFor(type);
+	}
+
+	/**
+	 * 返回该类型缓存的 ObjectWriter
+	 */
+	public static ObjectWriter writerFor(Class<?> type) {
+		return JacksonFormat.JSON.writerFor(type);
+	}
+
+	/**
+	 * 创建 ObjectMapper
+	 * 
+	 * @param afterburner 是否启用 Afterburner 字节码加速
+	 */
+	public static ObjectMapper newMapper(boolean afterburner) {
+		return JacksonFormat.JSON.newMapper(afterburner);
 	}
 
 }
@@ -1,11 +1,11 @@
 package com.waylau.netty.demo.codec.jackcon;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 
@@ -20,19 +20,24 @@ public final class JacksonServer {
 
     static final int PORT = 8082;
 
+    /**
+     * 线路格式，可选 json、smile、cbor，客户端需使用相同的格式
+     */
+    static final JacksonFormat FORMAT = JacksonFormat.of(System.getProperty("jackson.format", "json"));
+
     public static void main(String[] args) throws Exception {
 
         // Configure the server.
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+        EventLoopGroup bossGroup = factory.newBossGroup();
+        EventLoopGroup workerGroup = factory.newWorkerGroup();
         try {
-            ServerBootstrap b = new ServerBootstrap();
+            ServerBootstrap b = factory.newServerBootstrap();
             b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
              .option(ChannelOption.SO_BACKLOG, 100)
              .childOption(ChannelOption.SO_KEEPALIVE, true)
              .handler(new LoggingHandler(LogLevel.INFO))
-             .childHandler(new JacksonServerInitializer());
+             .childHandler(new JacksonServerInitializer(FORMAT));
 
             // Start the server.
             ChannelFuture f = b.bind(PORT).sync();
@@ -18,7 +18,7 @@ public class JacksonServerHandler extends SimpleChannelInboundHandler<Object> {
 		if (obj instanceof JacksonBean) {
 			JacksonBean user = (JacksonBean) obj;
 			ctx.writeAndFlush(user);
-			jsonString = JacksonMapper.getInstance().writeValueAsString(user); // 对象转为json字符串
+			jsonString = JacksonMapper.writerFor(JacksonBean.class).writeValueAsString(user); // 对象转为json字符串
 			System.out.println("Client -> Server: " + jsonString);
 		}
 	}
@@ -2,6 +2,8 @@ package com.waylau.netty.demo.codec.serialization;
 
 import java.io.Serializable;
 
+import com.waylau.netty.demo.codec.spi.SchemaField;
+
 /**
  * POJO: a Serialization Bean
  * 
@@ -11,7 +13,9 @@ import java.io.Serializable;
 public class SerializationBean implements Serializable {
 
 	private static final long serialVersionUID = 3235432002462705915L;
+	@SchemaField(0)
 	private int age;
+	@SchemaField(1)
 	private String name;
 
 	public int getAge() {
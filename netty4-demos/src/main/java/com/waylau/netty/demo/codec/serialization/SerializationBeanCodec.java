@@ -0,0 +1,33 @@
+package com.waylau.netty.demo.codec.serialization;
+
+import com.waylau.netty.demo.codec.spi.SchemaCodec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * SerializationBean 的手写 Schema 编解码器：4 字节 age + 长度前缀的 UTF-8 name.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class SerializationBeanCodec extends SchemaCodec<SerializationBean> {
+
+	public SerializationBeanCodec() {
+		super(SerializationBean.class);
+	}
+
+	@Override
+	public void encode(SerializationBean msg, ByteBuf out) {
+		out.writeInt(msg.getAge());
+		writeString(out, msg.getName());
+	}
+
+	@Override
+	public SerializationBean decode(ByteBuf in) {
+		SerializationBean bean = new SerializationBean();
+		bean.setAge(in.readInt());
+		bean.setName(readString(in));
+		return bean;
+	}
+
+}
@@ -1,11 +1,11 @@
 package com.waylau.netty.demo.codec.serialization;
 
+import com.waylau.netty.demo.codec.spi.Codec;
+import com.waylau.netty.demo.codec.spi.Codecs;
+
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
 
 /**
  * SerializationServer ChannelInitializer.
@@ -17,13 +17,26 @@ public class SerializationServerInitializer extends ChannelInitializer<Channel>
 
 	private final static int MAX_OBJECT_SIZE = 1024 * 1024;
 
+	private final Codec<SerializationBean> codec;
+
+	/**
+	 * 使用 -Dserialization.codec 指定的 Codec，默认为最快的手写 Schema 实现
+	 */
+	public SerializationServerInitializer() {
+		this(Codecs.fromSystemProperty(SerializationBean.class, new SerializationBeanCodec()));
+	}
+
+	/**
+	 * @param codec 两端需使用相同的 Codec
+	 */
+	public SerializationServerInitializer(Codec<SerializationBean> codec) {
+		this.codec = codec;
+	}
+
 	@Override
 	protected void initChannel(Channel ch) throws Exception {
 		ChannelPipeline pipeline = ch.pipeline();
-		pipeline.addLast(new ObjectDecoder(MAX_OBJECT_SIZE,
-				ClassResolvers.weakCachingConcurrentResolver(this.getClass()
-						.getClassLoader())));
-		pipeline.addLast(new ObjectEncoder());
+		Codecs.install(pipeline, codec, MAX_OBJECT_SIZE);
 		pipeline.addLast(new SerializationServerHandler());
 	}
 }
\ No newline at end of file
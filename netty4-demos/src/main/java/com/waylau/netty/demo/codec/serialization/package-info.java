@@ -2,7 +2,7 @@
  * 
  */
 /**
- * 说明：使用 Netty 自带的序列化工具对 Java 对象进行序列化
+ * 说明：对 Java 对象进行序列化，可通过 -Dserialization.codec 选择 jdk、kryo、jackson 或 schema（默认）
  *
  * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月7日 
  */
@@ -0,0 +1,31 @@
+package com.waylau.netty.demo.codec.spi;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 对象与 ByteBuf 之间的序列化方式.
+ * 
+ * 实现只负责消息体，帧的长度前缀由 {@link CodecEncoder}/{@link CodecDecoder} 处理。
+ * 实现需是线程安全的，以便多个连接共用一个实例。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public interface Codec<T> {
+
+	/**
+	 * 编码的消息类型
+	 */
+	Class<T> type();
+
+	/**
+	 * 把 msg 写入 out
+	 */
+	void encode(T msg, ByteBuf out) throws Exception;
+
+	/**
+	 * 从 in 中读取一个对象，in 恰好包含一个完整的消息体
+	 */
+	T decode(ByteBuf in) throws Exception;
+
+}
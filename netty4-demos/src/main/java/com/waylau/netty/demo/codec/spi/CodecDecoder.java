@@ -0,0 +1,35 @@
+package com.waylau.netty.demo.codec.spi;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * 按 4 字节长度前缀拆帧，再用 {@link Codec} 解码消息体. 每个连接需要独立的实例。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class CodecDecoder<T> extends LengthFieldBasedFrameDecoder {
+
+	private final Codec<T> codec;
+
+	public CodecDecoder(Codec<T> codec, int maxFrameLength) {
+		super(maxFrameLength, 0, CodecEncoder.LENGTH_FIELD_LENGTH, 0, CodecEncoder.LENGTH_FIELD_LENGTH);
+		this.codec = codec;
+	}
+
+	@Override
+	protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+		ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+		if (frame == null) {
+			return null;
+		}
+		try {
+			return codec.decode(frame);
+		} finally {
+			frame.release();
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.waylau.netty.demo.codec.spi;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * 用 {@link Codec} 编码消息体，前面加上 4 字节的长度.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@Sharable
+public class CodecEncoder<T> extends MessageToByteEncoder<T> {
+
+	static final int LENGTH_FIELD_LENGTH = 4;
+
+	private final Codec<T> codec;
+
+	public CodecEncoder(Codec<T> codec) {
+		super(codec.type());
+		this.codec = codec;
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, T msg, ByteBuf out) throws Exception {
+		int lengthIndex = out.writerIndex();
+		out.writeInt(0); // 长度占位，写完消息体后回填
+		codec.encode(msg, out);
+		out.setInt(lengthIndex, out.writerIndex() - lengthIndex - LENGTH_FIELD_LENGTH);
+	}
+
+}
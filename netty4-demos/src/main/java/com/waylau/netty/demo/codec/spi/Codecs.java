@@ -0,0 +1,69 @@
+package com.waylau.netty.demo.codec.spi;
+
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * 按名称选择 {@link Codec}，并安装到 pipeline.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public final class Codecs {
+
+	public static final String JDK = "jdk";
+	public static final String KRYO = "kryo";
+	public static final String JACKSON = "jackson";
+	public static final String SCHEMA = "schema";
+	public static final String COMPILED = "compiled";
+
+	/**
+	 * 选择 Codec 的系统属性，未指定时使用最快的可用实现
+	 */
+	public static final String CODEC_PROPERTY = "serialization.codec";
+
+	private Codecs() {
+	}
+
+	/**
+	 * 按名称选择 Codec
+	 * 
+	 * @param name        jdk、kryo、jackson、schema 或 compiled（由 {@link SchemaField} 生成）
+	 * @param schemaCodec 该类型的手写 Schema 实现，没有时为 null
+	 */
+	public static <T> Codec<T> of(String name, Class<T> type, SchemaCodec<T> schemaCodec) {
+		switch (name) {
+		case JDK:
+			return new JdkCodec<T>(type);
+		case KRYO:
+			return new KryoCodec<T>(type);
+		case JACKSON:
+			return new JacksonCodec<T>(type);
+		case SCHEMA:
+			if (schemaCodec == null) {
+				throw new IllegalArgumentException("no schema codec for " + type.getName());
+			}
+			return schemaCodec;
+		case COMPILED:
+			return SchemaCompiler.compile(type);
+		default:
+			throw new IllegalArgumentException("unknown codec: " + name);
+		}
+	}
+
+	/**
+	 * 按系统属性选择 Codec，未指定时有手写 Schema 就用它，否则用 Kryo
+	 */
+	public static <T> Codec<T> fromSystemProperty(Class<T> type, SchemaCodec<T> schemaCodec) {
+		String name = System.getProperty(CODEC_PROPERTY, schemaCodec != null ? SCHEMA : KRYO);
+		return of(name, type, schemaCodec);
+	}
+
+	/**
+	 * 在 pipeline 末尾加上该 Codec 的解码器和编码器
+	 */
+	public static <T> void install(ChannelPipeline pipeline, Codec<T> codec, int maxFrameLength) {
+		pipeline.addLast(new CodecDecoder<T>(codec, maxFrameLength));
+		pipeline.addLast(new CodecEncoder<T>(codec));
+	}
+
+}
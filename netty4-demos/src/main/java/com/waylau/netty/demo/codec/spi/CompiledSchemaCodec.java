@@ -0,0 +1,73 @@
+package com.waylau.netty.demo.codec.spi;
+
+import java.lang.invoke.MethodHandle;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+
+/**
+ * {@link SchemaCompiler} 生成的编解码器：按顺序执行各字段的 {@link FieldCodec}.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+final class CompiledSchemaCodec<T> extends SchemaCodec<T> {
+
+	/**
+	 * 解码时允许的最大嵌套层数，防止构造的深层嵌套数据耗尽线程栈
+	 */
+	static final int MAX_DEPTH = 64;
+
+	private final MethodHandle constructor;
+	private final FieldCodec[] fields;
+
+	/**
+	 * @param constructor 无参构造函数，已适配为 ()Object
+	 */
+	CompiledSchemaCodec(Class<T> type, MethodHandle constructor, FieldCodec[] fields) {
+		super(type);
+		this.constructor = constructor;
+		this.fields = fields;
+	}
+
+	@Override
+	public void encode(T msg, ByteBuf out) {
+		try {
+			writeFields(msg, out);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new EncoderException(e);
+		}
+	}
+
+	@Override
+	public T decode(ByteBuf in) {
+		try {
+			return type().cast(readFields(in, 0));
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new DecoderException(e);
+		}
+	}
+
+	void writeFields(Object msg, ByteBuf out) throws Throwable {
+		for (FieldCodec field : fields) {
+			field.write(msg, out);
+		}
+	}
+
+	Object readFields(ByteBuf in, int depth) throws Throwable {
+		if (depth > MAX_DEPTH) {
+			throw new DecoderException("nesting depth exceeds " + MAX_DEPTH + ": " + type().getName());
+		}
+		Object msg = (Object) constructor.invokeExact();
+		for (FieldCodec field : fields) {
+			field.read(msg, in, depth);
+		}
+		return msg;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.waylau.netty.demo.codec.spi;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.waylau.netty.demo.codec.jackcon.JacksonFormat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * Jackson 序列化，支持 {@link JacksonFormat} 中的各种格式.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class JacksonCodec<T> implements Codec<T> {
+
+	private final Class<T> type;
+	private final ObjectReader reader;
+	private final ObjectWriter writer;
+
+	public JacksonCodec(Class<T> type) {
+		this(type, JacksonFormat.JSON);
+	}
+
+	public JacksonCodec(Class<T> type, JacksonFormat format) {
+		this.type = type;
+		this.reader = format.readerFor(type);
+		this.writer = format.writerFor(type);
+	}
+
+	@Override
+	public Class<T> type() {
+		return type;
+	}
+
+	@Override
+	public void encode(T msg, ByteBuf out) throws Exception {
+		OutputStream os = new ByteBufOutputStream(out);
+		writer.writeValue(os, msg);
+	}
+
+	@Override
+	public T decode(ByteBuf in) throws Exception {
+		InputStream is = new ByteBufInputStream(in);
+		return reader.readValue(is);
+	}
+
+}
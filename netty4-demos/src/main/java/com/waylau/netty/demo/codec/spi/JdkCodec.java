@@ -0,0 +1,114 @@
+package com.waylau.netty.demo.codec.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * JDK 序列化. 直接读写 ByteBuf，但每次仍需创建对象流，是最慢的实现，仅用于兼容。
+ * 
+ * 解码时只允许 type 及其父类、非 transient 字段的类型（递归）出现在流中，其余类拒绝加载。
+ * 字段声明为接口或抽象类时（如 List），实际的实现类需通过构造器另行允许。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class JdkCodec<T> implements Codec<T> {
+
+	private final Class<T> type;
+	private final Set<String> allowed = new HashSet<>();
+
+	/**
+	 * @param allowedTypes 额外允许的类型，例如字段中集合的实现类
+	 */
+	public JdkCodec(Class<T> type, Class<?>... allowedTypes) {
+		this.type = type;
+		allow(type);
+		for (Class<?> allowedType : allowedTypes) {
+			allow(allowedType);
+		}
+	}
+
+	private void allow(Class<?> clazz) {
+		while (clazz.isArray()) {
+			clazz = clazz.getComponentType();
+		}
+		if (clazz.isPrimitive() || allowed.contains(clazz.getName())) {
+			return;
+		}
+		for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+			if (!allowed.add(c.getName())) {
+				return;
+			}
+			for (Field field : c.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+					allow(field.getType());
+				}
+			}
+		}
+	}
+
+	@Override
+	public Class<T> type() {
+		return type;
+	}
+
+	@Override
+	public void encode(T msg, ByteBuf out) throws Exception {
+		try (ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(out))) {
+			oos.writeObject(msg);
+		}
+	}
+
+	@Override
+	public T decode(ByteBuf in) throws Exception {
+		try (ObjectInputStream ois = new AllowListObjectInputStream(new ByteBufInputStream(in))) {
+			return type.cast(ois.readObject());
+		}
+	}
+
+	/**
+	 * 按类名检查，不在允许列表中的类不会被加载，也就不会执行其静态初始化
+	 */
+	private final class AllowListObjectInputStream extends ObjectInputStream {
+
+		AllowListObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			String name = desc.getName();
+			int dimensions = 0;
+			while (name.charAt(dimensions) == '[') {
+				dimensions++;
+			}
+			if (dimensions > 0) {
+				// 数组描述符：[I、[[Ljava.lang.String; 等
+				name = name.charAt(dimensions) == 'L' ? name.substring(dimensions + 1, name.length() - 1) : null;
+			}
+			if (name != null && !allowed.contains(name)) {
+				throw new InvalidClassException(desc.getName(), "not allowed when decoding " + type.getName());
+			}
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+			throw new InvalidClassException("proxy", "not allowed when decoding " + type.getName());
+		}
+	}
+
+}
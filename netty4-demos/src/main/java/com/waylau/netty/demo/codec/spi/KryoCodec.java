@@ -0,0 +1,39 @@
+package com.waylau.netty.demo.codec.spi;
+
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+import com.waylau.netty.demo.kryo.serializer.Serializer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Kryo 序列化，复用每个线程的 Kryo 实例及缓冲区.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class KryoCodec<T> implements Codec<T> {
+
+	private static final Serializer SERIALIZER = new KryoSerializer();
+
+	private final Class<T> type;
+
+	public KryoCodec(Class<T> type) {
+		this.type = type;
+	}
+
+	@Override
+	public Class<T> type() {
+		return type;
+	}
+
+	@Override
+	public void encode(T msg, ByteBuf out) {
+		SERIALIZER.serialize(msg, out);
+	}
+
+	@Override
+	public T decode(ByteBuf in) {
+		return SERIALIZER.deserialize(in, type);
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.waylau.netty.demo.codec.spi;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.CharsetUtil;
+
+/**
+ * 手写 Schema 的编解码器基类，子类按固定顺序读写各字段，不写入类型或字段名，是最快的实现.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public abstract class SchemaCodec<T> implements Codec<T> {
+
+	private final Class<T> type;
+
+	protected SchemaCodec(Class<T> type) {
+		this.type = type;
+	}
+
+	@Override
+	public Class<T> type() {
+		return type;
+	}
+
+	/**
+	 * 写入 4 字节长度 + UTF-8 字符串，null 的长度为 -1
+	 */
+	protected static void writeString(ByteBuf out, String s) {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		int lengthIndex = out.writerIndex();
+		out.writeInt(0);
+		int written = ByteBufUtil.reserveAndWriteUtf8(out, s, ByteBufUtil.utf8MaxBytes(s));
+		out.setInt(lengthIndex, written);
+	}
+
+	/**
+	 * 读取 {@link #writeString(ByteBuf, String)} 写入的字符串
+	 */
+	protected static String readString(ByteBuf in) {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String s = in.toString(in.readerIndex(), length, CharsetUtil.UTF_8);
+		in.skipBytes(length);
+		return s;
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.waylau.netty.demo.codec.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 由 {@link SchemaField} 注解生成 {@link SchemaCodec}，代替手写的编解码器.
+ *
+ * 每个类只在首次使用时解析一次注解，把各字段编译为 {@link FieldCodec} 数组；
+ * 编解码时按数组顺序直接读写 ByteBuf，不写字段名和类型，也不经过反射调用。
+ * 类需有无参构造函数（可以是私有的），字段可以是私有的或 final 的，父类的注解字段排在子类之前。
+ *
+ * <pre>
+ * ChannelPipeline p = ch.pipeline();
+ * p.addLast(SchemaCompiler.newDecoder(Msg.class, maxFrameLength));
+ * p.addLast(SchemaCompiler.newEncoder(Msg.class));
+ * </pre>
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public final class SchemaCompiler {
+
+	private static final ClassValue<CompiledSchemaCodec<?>> CODECS = new ClassValue<CompiledSchemaCodec<?>>() {
+		@Override
+		protected CompiledSchemaCodec<?> computeValue(Class<?> type) {
+			return compile0(type);
+		}
+	};
+
+	private SchemaCompiler() {
+	}
+
+	/**
+	 * 取 type 的编解码器，结果按类缓存，可被多个连接共用
+	 *
+	 * @throws IllegalArgumentException type 没有 {@link SchemaField} 字段、没有无参构造函数或字段类型不支持
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> SchemaCodec<T> compile(Class<T> type) {
+		return (SchemaCodec<T>) compiled(type);
+	}
+
+	/**
+	 * type 是否有 {@link SchemaField} 字段
+	 */
+	public static boolean isCompilable(Class<?> type) {
+		return !annotatedFields(type).isEmpty();
+	}
+
+	/**
+	 * 生成的编码器，可共用
+	 */
+	public static <T> CodecEncoder<T> newEncoder(Class<T> type) {
+		return new CodecEncoder<T>(compile(type));
+	}
+
+	/**
+	 * 生成的解码器，每个连接需要独立的实例
+	 */
+	public static <T> CodecDecoder<T> newDecoder(Class<T> type, int maxFrameLength) {
+		return new CodecDecoder<T>(compile(type), maxFrameLength);
+	}
+
+	static CompiledSchemaCodec<?> compiled(Class<?> type) {
+		return CODECS.get(type);
+	}
+
+	private static <T> CompiledSchemaCodec<T> compile0(Class<T> type) {
+		List<Field> annotated = annotatedFields(type);
+		if (annotated.isEmpty()) {
+			throw new IllegalArgumentException("no @SchemaField in " + type.getName());
+		}
+		try {
+			FieldCodec[] fields = new FieldCodec[annotated.size()];
+			for (int i = 0; i < fields.length; i++) {
+				fields[i] = newFieldCodec(annotated.get(i));
+			}
+			return new CompiledSchemaCodec<T>(type, constructor(type), fields);
+		} catch (IllegalAccessException | NoSuchMethodException e) {
+			throw new IllegalArgumentException("cannot compile " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * 类及其父类的注解字段，父类在前，同一类内按 {@link SchemaField#value()} 排序
+	 */
+	private static List<Field> annotatedFields(Class<?> type) {
+		List<Field> result = new ArrayList<Field>();
+		if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+			result.addAll(annotatedFields(type.getSuperclass()));
+		}
+		List<Field> own = new ArrayList<Field>();
+		for (Field field : type.getDeclaredFields()) {
+			if (field.isAnnotationPresent(SchemaField.class)) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					throw new IllegalArgumentException("static field cannot be a @SchemaField: " + field);
+				}
+				own.add(field);
+			}
+		}
+		own.sort(Comparator.comparingInt(f -> f.getAnnotation(SchemaField.class).value()));
+		for (int i = 1; i < own.size(); i++) {
+			if (order(own.get(i)) == order(own.get(i - 1))) {
+				throw new IllegalArgumentException("duplicate @SchemaField(" + order(own.get(i)) + ") in "
+						+ type.getName());
+			}
+		}
+		result.addAll(own);
+		return result;
+	}
+
+	private static int order(Field field) {
+		return field.getAnnotation(SchemaField.class).value();
+	}
+
+	private static MethodHandle constructor(Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			throw new IllegalArgumentException("cannot instantiate " + type.getName());
+		}
+		Constructor<?> constructor = type.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return MethodHandles.lookup().unreflectConstructor(constructor)
+				.asType(MethodType.methodType(Object.class));
+	}
+
+	private static FieldCodec newFieldCodec(Field field) throws IllegalAccessException {
+		Class<?> javaType = field.getType();
+		WireType wireType = field.getAnnotation(SchemaField.class).type();
+		if (wireType == WireType.AUTO) {
+			wireType = inferWireType(field);
+		}
+		switch (wireType) {
+		case BYTE:
+			requireType(field, byte.class);
+			return new FieldCodec.ByteField(field);
+		case SHORT:
+			requireType(field, short.class);
+			return new FieldCodec.ShortField(field);
+		case INT:
+			requireType(field, int.class);
+			return new FieldCodec.IntField(field);
+		case LONG:
+			requireType(field, long.class);
+			return new FieldCodec.LongField(field);
+		case VARINT:
+			if (javaType == int.class) {
+				return new FieldCodec.VarIntField(field);
+			}
+			requireType(field, long.class);
+			return new FieldCodec.VarLongField(field);
+		case STRING:
+			requireType(field, String.class);
+			return new FieldCodec.StringField(field);
+		case NESTED:
+			if (!isCompilable(javaType)) {
+				throw new IllegalArgumentException("nested type has no @SchemaField: " + field);
+			}
+			return new FieldCodec.NestedField(field);
+		default:
+			throw new IllegalArgumentException("unsupported wire type " + wireType + ": " + field);
+		}
+	}
+
+	private static WireType inferWireType(Field field) {
+		Class<?> javaType = field.getType();
+		if (javaType == byte.class) {
+			return WireType.BYTE;
+		} else if (javaType == short.class) {
+			return WireType.SHORT;
+		} else if (javaType == int.class) {
+			return WireType.INT;
+		} else if (javaType == long.class) {
+			return WireType.LONG;
+		} else if (javaType == String.class) {
+			return WireType.STRING;
+		} else if (!javaType.isPrimitive() && !javaType.isArray()) {
+			return WireType.NESTED;
+		}
+		throw new IllegalArgumentException("unsupported field type: " + field);
+	}
+
+	private static void requireType(Field field, Class<?> expected) {
+		if (field.getType() != expected) {
+			throw new IllegalArgumentException(field.getAnnotation(SchemaField.class).type()
+					+ " requires " + expected.getName() + ": " + field);
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.waylau.netty.demo.codec.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记参与 {@link SchemaCompiler} 编解码的字段.
+ *
+ * 字段按 {@link #value()} 从小到大依次读写，线路上不写字段名和类型，
+ * 因此调整顺序或类型即改变了线路格式，两端需同时升级。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface SchemaField {
+
+	/**
+	 * 字段在线路上的顺序，同一个类（含父类）内不可重复
+	 */
+	int value();
+
+	/**
+	 * 编码方式，默认按字段类型推断
+	 */
+	WireType type() default WireType.AUTO;
+
+}
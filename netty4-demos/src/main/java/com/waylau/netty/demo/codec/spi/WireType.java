@@ -0,0 +1,52 @@
+package com.waylau.netty.demo.codec.spi;
+
+/**
+ * {@link SchemaField} 字段在线路上的编码方式.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public enum WireType {
+
+	/**
+	 * 按字段的 Java 类型推断：byte、short、int、long、String 分别对应同名类型，
+	 * 其它带 {@link SchemaField} 字段的类对应 {@link #NESTED}
+	 */
+	AUTO,
+
+	/**
+	 * 1 字节，字段类型为 byte
+	 */
+	BYTE,
+
+	/**
+	 * 2 字节大端，字段类型为 short
+	 */
+	SHORT,
+
+	/**
+	 * 4 字节大端，字段类型为 int
+	 */
+	INT,
+
+	/**
+	 * 8 字节大端，字段类型为 long
+	 */
+	LONG,
+
+	/**
+	 * ZigZag 变长整数，1 到 10 字节，字段类型为 int 或 long，适合通常较小的数值
+	 */
+	VARINT,
+
+	/**
+	 * 4 字节长度 + UTF-8，null 的长度为 -1，字段类型为 String
+	 */
+	STRING,
+
+	/**
+	 * 1 字节是否为 null + 按该类自身的 Schema 编码，字段类型为带 {@link SchemaField} 字段的类
+	 */
+	NESTED
+
+}
@@ -0,0 +1,6 @@
+/**
+ * 说明：统一的 Codec 接口及 JDK、Kryo、Jackson、手写 Schema、由注解生成的 Schema 等实现，可按 pipeline 选择
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+package com.waylau.netty.demo.codec.spi;
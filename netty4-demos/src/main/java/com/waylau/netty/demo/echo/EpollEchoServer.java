@@ -1,15 +1,16 @@
 package com.waylau.netty.demo.echo;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+import com.waylau.netty.util.Transport;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.epoll.EpollServerSocketChannel;
 
 /**
  * epoll Echo Server.
- * Only supported on Linux.
+ * Only supported on Linux, falls back to NIO elsewhere.
  * 
  * @since 1.0.0 2020年1月4日
  * @author <a href="https://waylau.com">Way Lau</a>
@@ -28,15 +29,16 @@ public class EpollEchoServer {
 		}
 
 		// 多线程事件循环器
-		EventLoopGroup bossGroup = new EpollEventLoopGroup(); // boss
-		EventLoopGroup workerGroup = new EpollEventLoopGroup(); // worker
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder(System.getProperties())
+				.transport(Transport.EPOLL).build();
+		EventLoopGroup bossGroup = factory.newBossGroup(); // boss
+		EventLoopGroup workerGroup = factory.newWorkerGroup(); // worker
 		
 		try {
 			// 启动NIO服务的引导程序类
-			ServerBootstrap b = new ServerBootstrap(); 
+			ServerBootstrap b = factory.newServerBootstrap(); 
 			
 			b.group(bossGroup, workerGroup) // 设置EventLoopGroup
-			.channel(EpollServerSocketChannel.class) // 指明新的Channel的类型
 			.childHandler(new EchoServerHandler()) // 指定ChannelHandler
 			.option(ChannelOption.SO_BACKLOG, 128) // 设置的ServerChannel的一些选项
 			.childOption(ChannelOption.SO_KEEPALIVE, true); // 设置的ServerChannel的子Channel的选项
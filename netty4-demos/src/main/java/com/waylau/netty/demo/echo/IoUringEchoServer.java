@@ -0,0 +1,63 @@
+package com.waylau.netty.demo.echo;
+
+import com.waylau.netty.util.ServerBootstrapFactory;
+import com.waylau.netty.util.Transport;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+
+/**
+ * io_uring Echo Server.
+ * Requires Linux 5.9+, falls back to epoll or NIO otherwise.
+ * 也可以用 -Dnetty.transport=io_uring 启动 {@link EchoServer}。
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class IoUringEchoServer {
+
+	public static int DEFAULT_PORT = 7;
+
+	public static void main(String[] args) throws Exception {
+		int port;
+
+		try {
+			port = Integer.parseInt(args[0]);
+		} catch (RuntimeException ex) {
+			port = DEFAULT_PORT;
+		}
+
+		// 多线程事件循环器
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder(System.getProperties())
+				.transport(Transport.IO_URING).build();
+		EventLoopGroup bossGroup = factory.newBossGroup(); // boss
+		EventLoopGroup workerGroup = factory.newWorkerGroup(); // worker
+		
+		try {
+			// 启动NIO服务的引导程序类
+			ServerBootstrap b = factory.newServerBootstrap(); 
+			
+			b.group(bossGroup, workerGroup) // 设置EventLoopGroup
+			.childHandler(new EchoServerHandler()) // 指定ChannelHandler
+			.option(ChannelOption.SO_BACKLOG, 128) // 设置的ServerChannel的一些选项
+			.childOption(ChannelOption.SO_KEEPALIVE, true); // 设置的ServerChannel的子Channel的选项
+ 
+			// 绑定端口，开始接收进来的连接
+			ChannelFuture f = b.bind(port).sync(); 
+
+			System.out.println("EchoServer已启动，端口：" + port + "，传输方式：" + factory.transport());
+
+			// 等待服务器 socket 关闭 。
+			// 在这个例子中，这不会发生，但你可以优雅地关闭你的服务器。
+			f.channel().closeFuture().sync();
+		} finally {
+
+			// 优雅的关闭
+			workerGroup.shutdownGracefully();
+			bossGroup.shutdownGracefully();
+		}
+
+	}
+}
\ No newline at end of file
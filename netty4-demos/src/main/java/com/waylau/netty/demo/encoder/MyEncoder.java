@@ -3,11 +3,14 @@
  */
 package com.waylau.netty.demo.encoder;
 
-import java.nio.charset.Charset;
+import com.waylau.netty.util.Utf8Sizes;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
  * My Encoder.
@@ -17,6 +20,10 @@ import io.netty.handler.codec.MessageToByteEncoder;
  */
 public class MyEncoder extends MessageToByteEncoder<Msg> {
 
+	private static final int HEADER_SIZE = 5;
+
+	private static final InternalLogger logger = InternalLoggerFactory.getInstance(MyEncoder.class);
+
 	@Override
 	protected void encode(ChannelHandlerContext ctx, Msg msg, ByteBuf out) throws Exception {
 		if (msg == null | msg.getMsgHeader() == null) {
@@ -27,17 +34,37 @@ public class MyEncoder extends MessageToByteEncoder<Msg> {
 		MsgHeader header = msg.getMsgHeader();
 
 		// 获取消息体
-		String body = msg.getBody();
-		byte[] bodyBytes = body.getBytes(Charset.forName("utf-8"));
-
-		// 计算消息体的长度
-		int bodySize = bodyBytes.length;
+		String body = bodyOf(msg);
 
-		System.out.printf("MyEncoder header: %s, body: %s", header.getMsgType(), body);
+		if (logger.isDebugEnabled()) {
+			logger.debug("MyEncoder header: {}, body: {}", header.getMsgType(), body);
+		}
 
 		out.writeByte(MsgType.EMGW_LOGIN_RES.getValue());
-		out.writeInt(bodySize);
-		out.writeBytes(bodyBytes);
+
+		// 先写入长度占位，消息体直接以 UTF-8 写入 out 后再回填实际长度；
+		// out 由 allocateBuffer 按估算的消息体长度分配，剩余空间即为预留长度，无需再次估算
+		int lenIndex = out.writerIndex();
+		out.writeInt(0);
+		int bodySize = ByteBufUtil.reserveAndWriteUtf8(out, body, out.writableBytes());
+		out.setInt(lenIndex, bodySize);
+	}
+
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Msg msg, boolean preferDirect)
+			throws Exception {
+		// 按估算的消息体长度分配缓冲区，写入过程中无需扩容
+		int capacity = HEADER_SIZE + Utf8Sizes.estimate(bodyOf(msg));
+		if (preferDirect) {
+			return ctx.alloc().ioBuffer(capacity);
+		} else {
+			return ctx.alloc().heapBuffer(capacity);
+		}
+	}
+
+	private static String bodyOf(Msg msg) {
+		String body = msg.getBody();
+		return body == null ? "" : body;
 	}
 
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.waylau.netty.demo.factorial;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContext;
@@ -28,12 +28,12 @@ public final class FactorialServer {
             sslCtx = null;
         }
 
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+        EventLoopGroup bossGroup = factory.newBossGroup();
+        EventLoopGroup workerGroup = factory.newWorkerGroup();
         try {
-            ServerBootstrap b = new ServerBootstrap();
+            ServerBootstrap b = factory.newServerBootstrap();
             b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
              .handler(new LoggingHandler(LogLevel.INFO))
              .childHandler(new FactorialServerInitializer(sslCtx));
 
@@ -15,14 +15,14 @@
  */
 package com.waylau.netty.demo.file;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.handler.codec.string.StringDecoder;
 import io.netty.handler.codec.string.StringEncoder;
@@ -36,12 +36,12 @@ import io.netty.util.CharsetUtil;
 public class FileServer {
 
     public void run(int port) throws Exception {
-	EventLoopGroup bossGroup = new NioEventLoopGroup();
-	EventLoopGroup workerGroup = new NioEventLoopGroup();
+	ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+	EventLoopGroup bossGroup = factory.newBossGroup();
+	EventLoopGroup workerGroup = factory.newWorkerGroup();
 	try {
-	    ServerBootstrap b = new ServerBootstrap();
+	    ServerBootstrap b = factory.newServerBootstrap();
 	    b.group(bossGroup, workerGroup)
-		    .channel(NioServerSocketChannel.class)
 		    .option(ChannelOption.SO_BACKLOG, 100)
 		    .childHandler(new ChannelInitializer<SocketChannel>() {
 				/*
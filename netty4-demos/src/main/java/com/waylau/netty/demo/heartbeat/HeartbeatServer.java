@@ -1,11 +1,11 @@
 package com.waylau.netty.demo.heartbeat;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 
@@ -22,12 +22,12 @@ public final class HeartbeatServer {
     public static void main(String[] args) throws Exception {
 
         // 配置服务器
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+        EventLoopGroup bossGroup = factory.newBossGroup();
+        EventLoopGroup workerGroup = factory.newWorkerGroup();
         try {
-            ServerBootstrap b = new ServerBootstrap();
+            ServerBootstrap b = factory.newServerBootstrap();
             b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
              .option(ChannelOption.SO_BACKLOG, 100)
              .handler(new LoggingHandler(LogLevel.INFO))
              .childHandler(new HeartbeatHandlerInitializer());
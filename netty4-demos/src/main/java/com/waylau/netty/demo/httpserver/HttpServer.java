@@ -1,11 +1,11 @@
 package com.waylau.netty.demo.httpserver;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 
 /**
  * HTTP Server.
@@ -27,15 +27,15 @@ public class HttpServer {
 		}
 
 		// 多线程事件循环器
-		EventLoopGroup bossGroup = new NioEventLoopGroup(1); // boss
-		EventLoopGroup workerGroup = new NioEventLoopGroup(); // worker
+		ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+		EventLoopGroup bossGroup = factory.newBossGroup(); // boss
+		EventLoopGroup workerGroup = factory.newWorkerGroup(); // worker
 		
 		try {
 			// 启动NIO服务的引导程序类
-			ServerBootstrap b = new ServerBootstrap(); 
+			ServerBootstrap b = factory.newServerBootstrap(); 
 			
 			b.group(bossGroup, workerGroup) // 设置EventLoopGroup
-			.channel(NioServerSocketChannel.class) // 指明新的Channel的类型
 			.childHandler(new HttpServerChannelInitializer()) // 指定ChannelHandler
 			.option(ChannelOption.SO_BACKLOG, 128) // 设置的ServerChannel的一些选项
 			.childOption(ChannelOption.SO_KEEPALIVE, true); // 设置的ServerChannel的子Channel的选项
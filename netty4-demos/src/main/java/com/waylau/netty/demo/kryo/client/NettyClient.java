@@ -6,41 +6,80 @@ import com.waylau.netty.demo.kryo.codec.NettyKryoEncoder;
 import com.waylau.netty.demo.kryo.dto.RpcRequest;
 import com.waylau.netty.demo.kryo.dto.RpcResponse;
 import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+import com.waylau.netty.demo.kryo.service.HelloService;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
-import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * @author shuang.kou
  * @createTime 2020年05月13日 20:48:00
  */
 public class NettyClient {
     private static final Logger logger = LoggerFactory.getLogger(NettyClient.class);
+    /**
+     * 默认的请求超时时间
+     */
+    public static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 10000;
     private final String host;
     private final int port;
+    private final long requestTimeoutMillis;
+    private static final EventLoopGroup eventLoopGroup;
     private static final Bootstrap b;
+    private static final KryoSerializer kryoSerializer;
+    /**
+     * 请求 ID 生成器
+     */
+    private static final AtomicLong REQUEST_ID = new AtomicLong();
+    /**
+     * 最多合并多少次 flush 后强制写出
+     */
+    private static final int FLUSH_CONSOLIDATION_LIMIT = 256;
+    /**
+     * 与服务端之间的长连接（或正在建立的连接），多个请求复用
+     */
+    private ChannelFuture connectFuture;
 
     public NettyClient(String host, int port) {
+        this(host, port, DEFAULT_REQUEST_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param requestTimeoutMillis 发出请求后等待响应的超时时间，小于等于 0 表示一直等待
+     */
+    public NettyClient(String host, int port, long requestTimeoutMillis) {
         this.host = host;
         this.port = port;
+        this.requestTimeoutMillis = requestTimeoutMillis;
     }
 
     // 初始化相关资源比如 EventLoopGroup, Bootstrap
     static {
-        EventLoopGroup eventLoopGroup = new NioEventLoopGroup();
+        eventLoopGroup = new NioEventLoopGroup();
         b = new Bootstrap();
-        KryoSerializer kryoSerializer = new KryoSerializer();
+        kryoSerializer = new KryoSerializer();
         b.group(eventLoopGroup)
                 .channel(NioSocketChannel.class)
                 .handler(new LoggingHandler(LogLevel.INFO))
@@ -50,57 +89,179 @@ public class NettyClient {
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
-                        /*
-                         自定义序列化编解码器
-                         */
-                        // RpcResponse -> ByteBuf
-                        ch.pipeline().addLast(new NettyKryoDecoder(kryoSerializer, RpcResponse.class));
-                        // ByteBuf -> RpcRequest
-                        ch.pipeline().addLast(new NettyKryoEncoder(kryoSerializer, RpcRequest.class));
-                        ch.pipeline().addLast(new NettyClientHandler());
+                        initPipeline(ch.pipeline());
                     }
                 });
     }
 
     /**
-     * 发送消息到服务端
+     * 客户端连接的编解码器及处理器，连接池创建的连接也使用同样的配置
+     */
+    static void initPipeline(ChannelPipeline pipeline) {
+        // 合并同一轮事件循环内的多次 flush，多个请求只需一次系统调用写出
+        pipeline.addLast(new FlushConsolidationHandler(FLUSH_CONSOLIDATION_LIMIT, true));
+        /*
+         自定义序列化编解码器
+         */
+        // RpcResponse -> ByteBuf
+        pipeline.addLast(new NettyKryoDecoder(kryoSerializer, RpcResponse.class));
+        // ByteBuf -> RpcRequest
+        pipeline.addLast(new NettyKryoEncoder(kryoSerializer, RpcRequest.class));
+        // 每个连接独立维护尚未完成的请求
+        pipeline.addLast(new NettyClientHandler());
+    }
+
+    /**
+     * 共享的 Bootstrap，连接池在其副本上替换 handler
+     */
+    static Bootstrap bootstrap() {
+        return b;
+    }
+
+    /**
+     * 返回长连接的 Future，尚未建立或已断开时发起新的连接，不等待连接完成
+     */
+    private synchronized ChannelFuture connect() {
+        ChannelFuture f = connectFuture;
+        if (f == null || (f.isDone() && !(f.isSuccess() && f.channel().isActive()))) {
+            f = b.connect(host, port);
+            f.addListener(future -> {
+                if (future.isSuccess()) {
+                    logger.info("client connect  {}", host + ":" + port);
+                }
+            });
+            connectFuture = f;
+        }
+        return f;
+    }
+
+    /**
+     * 异步发送消息到服务端，所有请求复用同一个连接，按请求 ID 匹配响应；
+     * 连接尚未建立时在连接完成后发送，调用方不会阻塞
+     *
+     * @param rpcRequest 消息体
+     * @return 服务端返回数据的 Future
+     */
+    public CompletableFuture<RpcResponse> sendAsync(RpcRequest rpcRequest) {
+        ChannelFuture f = connect();
+        if (f.isDone() && f.isSuccess()) {
+            return send(f.channel(), rpcRequest, requestTimeoutMillis);
+        }
+        CompletableFuture<RpcResponse> resultFuture = new CompletableFuture<>();
+        f.addListener((ChannelFuture connected) -> {
+            if (!connected.isSuccess()) {
+                resultFuture.completeExceptionally(connected.cause());
+                return;
+            }
+            send(connected.channel(), rpcRequest, requestTimeoutMillis).whenComplete((response, cause) -> {
+                if (cause != null) {
+                    resultFuture.completeExceptionally(cause);
+                } else {
+                    resultFuture.complete(response);
+                }
+            });
+        });
+        return resultFuture;
+    }
+
+    /**
+     * 在指定连接上发送请求，分配请求 ID 并登记等待响应的 Future。
+     * 发出的是带有请求 ID 的副本，同一个 RpcRequest 可以重复或并发发送
+     *
+     * @param timeoutMillis 等待响应的超时时间，小于等于 0 表示一直等待
+     */
+    static CompletableFuture<RpcResponse> send(Channel ch, RpcRequest rpcRequest, long timeoutMillis) {
+        CompletableFuture<RpcResponse> resultFuture = new CompletableFuture<>();
+        NettyClientHandler handler = ch.pipeline().get(NettyClientHandler.class);
+        if (handler == null) {
+            // 连接刚好被关闭，处理器已移除
+            resultFuture.completeExceptionally(new ClosedChannelException());
+            return resultFuture;
+        }
+        long requestId = REQUEST_ID.incrementAndGet();
+        RpcRequest wireRequest = rpcRequest.toBuilder().requestId(requestId).build();
+        // 必须在写出之前登记，否则响应可能先于登记到达
+        handler.put(requestId, resultFuture);
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> timeout = ch.eventLoop().schedule(() -> {
+                if (handler.remove(requestId, resultFuture)) {
+                    resultFuture.completeExceptionally(
+                            new TimeoutException("no response in " + timeoutMillis + " ms: " + wireRequest));
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            resultFuture.whenComplete((response, cause) -> timeout.cancel(false));
+        }
+        ch.writeAndFlush(wireRequest).addListener(future -> {
+            if (future.isSuccess()) {
+                logger.debug("client send message: [{}]", wireRequest);
+            } else if (handler.remove(requestId, resultFuture)) {
+                logger.error("Send failed:", future.cause());
+                resultFuture.completeExceptionally(future.cause());
+            }
+        });
+        return resultFuture;
+    }
+
+    /**
+     * 发送消息到服务端，同步等待响应，最长等待连接超时加上请求超时
      *
      * @param rpcRequest 消息体
      * @return 服务端返回的数据
      */
     public RpcResponse sendMessage(RpcRequest rpcRequest) {
         try {
-            ChannelFuture f = b.connect(host, port).sync();
-            logger.info("client connect  {}", host + ":" + port);
-            Channel futureChannel = f.channel();
-            logger.info("send message");
-            if (futureChannel != null) {
-                futureChannel.writeAndFlush(rpcRequest).addListener(future -> {
-                    if (future.isSuccess()) {
-                        logger.info("client send message: [{}]", rpcRequest.toString());
-                    } else {
-                        logger.error("Send failed:", future.cause());
-                    }
-                });
-                futureChannel.closeFuture().sync();
-                AttributeKey<RpcResponse> key = AttributeKey.valueOf("rpcResponse");
-                return futureChannel.attr(key).get();
-            }
+            return sendAsync(rpcRequest).get();
         } catch (InterruptedException e) {
-            logger.error("occur exception when connect server:", e);
+            Thread.currentThread().interrupt();
+            logger.error("interrupted when waiting for response:", e);
+        } catch (ExecutionException e) {
+            logger.error("occur exception when send message:", e.getCause());
         }
         return null;
     }
 
-    public static void main(String[] args) {
-        RpcRequest rpcRequest = RpcRequest.builder()
-                .interfaceName("interface")
-                .methodName("hello").build();
+    /**
+     * 关闭长连接，尚未收到响应的请求以异常结束
+     */
+    public synchronized void close() {
+        if (connectFuture != null) {
+            connectFuture.channel().close().syncUninterruptibly();
+            connectFuture = null;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
         NettyClient nettyClient = new NettyClient("127.0.0.1", 8889);
+        List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
-            nettyClient.sendMessage(rpcRequest);
+            RpcRequest rpcRequest = RpcRequest.builder()
+                    .interfaceName("interface")
+                    .methodName("hello").build();
+            // 多个请求同时在途，共用一个连接
+            futures.add(nettyClient.sendAsync(rpcRequest));
+        }
+        for (CompletableFuture<RpcResponse> future : futures) {
+            System.out.println(future.get().toString());
         }
-        RpcResponse rpcResponse = nettyClient.sendMessage(rpcRequest);
+        RpcResponse rpcResponse = nettyClient.sendMessage(RpcRequest.builder()
+                .interfaceName("interface")
+                .methodName("hello").build());
         System.out.println(rpcResponse.toString());
+        // 调用服务端注册的 HelloService
+        RpcResponse helloResponse = nettyClient.sendMessage(RpcRequest.builder()
+                .interfaceName(HelloService.class.getName())
+                .methodName("hello")
+                .paramTypes(new Class<?>[]{String.class})
+                .parameters(new Object[]{"netty"}).build());
+        System.out.println(helloResponse.getData());
+        nettyClient.close();
+        shutdown();
+    }
+
+    /**
+     * 关闭所有客户端共享的 EventLoopGroup
+     */
+    public static void shutdown() {
+        eventLoopGroup.shutdownGracefully();
     }
-}
\ No newline at end of file
+}
@@ -3,37 +3,108 @@ package com.waylau.netty.demo.kryo.client;
 import com.waylau.netty.demo.kryo.dto.RpcResponse;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
+ * 每个连接一个实例，按请求 ID 把响应交给对应的 CompletableFuture
+ *
  * @author shuang.kou
  * @createTime 2020年05月13日 20:50:00
  */
 public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(NettyClientHandler.class);
 
+    /**
+     * 该连接上已发出、尚未收到响应的请求
+     */
+    private final Map<Long, CompletableFuture<RpcResponse>> unprocessedRequests = new ConcurrentHashMap<>();
+    /**
+     * 在途请求数降到 releaseDepth 以下时执行一次，由连接池登记
+     */
+    private final AtomicReference<Runnable> pendingRelease = new AtomicReference<>();
+    private volatile int releaseDepth;
+
+    /**
+     * 登记一个已发出的请求
+     */
+    void put(long requestId, CompletableFuture<RpcResponse> future) {
+        unprocessedRequests.put(requestId, future);
+    }
+
+    /**
+     * 取消登记，发送失败或超时时调用
+     *
+     * @return 该请求仍在等待响应、由本次调用取消登记时为 true
+     */
+    boolean remove(long requestId, CompletableFuture<RpcResponse> future) {
+        boolean removed = unprocessedRequests.remove(requestId, future);
+        checkRelease();
+        return removed;
+    }
+
+    /**
+     * 在途请求数低于 depth 时执行 release，否则等到该连接上任一请求完成后再执行，只执行一次
+     */
+    void releaseBelow(int depth, Runnable release) {
+        releaseDepth = depth;
+        pendingRelease.set(release);
+        checkRelease();
+    }
+
+    private void checkRelease() {
+        if (unprocessedRequests.size() < releaseDepth) {
+            Runnable release = pendingRelease.getAndSet(null);
+            if (release != null) {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * 尚未收到响应的请求数
+     */
+    int pendingCount() {
+        return unprocessedRequests.size();
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
         try {
             RpcResponse rpcResponse = (RpcResponse) msg;
-            logger.info("client receive msg: [{}]", rpcResponse.toString());
-            // 声明一个 AttributeKey 对象
-            AttributeKey<RpcResponse> key = AttributeKey.valueOf("rpcResponse");
-            // 将服务端的返回结果保存到 AttributeMap 上，AttributeMap 可以看作是一个Channel的共享数据源
-            // AttributeMap的key是AttributeKey，value是Attribute
-            ctx.channel().attr(key).set(rpcResponse);
-            ctx.channel().close();
+            logger.debug("client receive msg: [{}]", rpcResponse);
+            CompletableFuture<RpcResponse> future = unprocessedRequests.remove(rpcResponse.getRequestId());
+            checkRelease();
+            if (future != null) {
+                future.complete(rpcResponse);
+            } else {
+                logger.warn("no pending request for response: [{}]", rpcResponse);
+            }
         } finally {
             ReferenceCountUtil.release(msg);
         }
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // 连接断开，尚未完成的请求不会再有响应
+        ClosedChannelException cause = new ClosedChannelException();
+        unprocessedRequests.values().forEach(future -> future.completeExceptionally(cause));
+        unprocessedRequests.clear();
+        checkRelease();
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         logger.error("client caught exception", cause);
         ctx.close();
     }
-}
\ No newline at end of file
+}
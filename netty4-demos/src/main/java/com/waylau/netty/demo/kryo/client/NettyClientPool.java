@@ -0,0 +1,247 @@
+package com.waylau.netty.demo.kryo.client;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 {@link FixedChannelPool} 的连接池，把请求分散到多个连接（及其 EventLoop）上。
+ * 每个连接最多同时有 pipelineDepth 个在途请求，响应按请求 ID 匹配；
+ * 连接的在途请求达到上限时暂不归还，直到该连接上任一请求完成，其余请求在池中排队等待。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class NettyClientPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NettyClientPool.class);
+
+    private final MeteredChannelPool pool;
+    private final int pipelineDepth;
+    private final long requestTimeoutMillis;
+    /**
+     * 正在等待获取连接的请求数
+     */
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final LongAdder connectCount = new LongAdder();
+    private final LongAdder connectNanos = new LongAdder();
+    private final AtomicLong maxConnectNanos = new AtomicLong();
+
+    public NettyClientPool(String host, int port) {
+        this(host, port, NettyClientPoolConfig.builder().build());
+    }
+
+    public NettyClientPool(String host, int port, NettyClientPoolConfig config) {
+        Bootstrap bootstrap = NettyClient.bootstrap().clone().remoteAddress(host, port);
+        long acquireTimeoutMillis = config.getAcquireTimeoutMillis();
+        this.pipelineDepth = Math.max(1, config.getPipelineDepth());
+        this.requestTimeoutMillis = config.getRequestTimeoutMillis();
+        this.pool = new MeteredChannelPool(bootstrap, new PoolHandler(config.getIdleTimeoutMillis()),
+                acquireTimeoutMillis > 0 ? FixedChannelPool.AcquireTimeoutAction.FAIL : null,
+                acquireTimeoutMillis > 0 ? acquireTimeoutMillis : -1,
+                config.getMaxConnections(), config.getMaxPendingAcquires());
+    }
+
+    /**
+     * 从池中获取连接并发送请求，收到响应或失败后归还连接
+     *
+     * @param rpcRequest 消息体
+     * @return 服务端返回数据的 Future
+     */
+    public CompletableFuture<RpcResponse> sendAsync(RpcRequest rpcRequest) {
+        CompletableFuture<RpcResponse> resultFuture = new CompletableFuture<>();
+        pendingAcquires.incrementAndGet();
+        pool.acquire().addListener((Future<Channel> acquired) -> {
+            pendingAcquires.decrementAndGet();
+            if (!acquired.isSuccess()) {
+                resultFuture.completeExceptionally(acquired.cause());
+                return;
+            }
+            Channel ch = acquired.getNow();
+            CompletableFuture<RpcResponse> sent = NettyClient.send(ch, rpcRequest, requestTimeoutMillis);
+            // 借出期间只有当前请求能在该连接上登记，在途数只会减少
+            NettyClientHandler handler = ch.pipeline().get(NettyClientHandler.class);
+            if (handler != null) {
+                handler.releaseBelow(pipelineDepth, () -> pool.release(ch));
+            } else {
+                pool.release(ch);
+            }
+            sent.whenComplete((response, cause) -> {
+                if (cause != null) {
+                    resultFuture.completeExceptionally(cause);
+                } else {
+                    resultFuture.complete(response);
+                }
+            });
+        });
+        return resultFuture;
+    }
+
+    /**
+     * 发送消息到服务端，同步等待响应
+     *
+     * @param rpcRequest 消息体
+     * @return 服务端返回的数据
+     */
+    public RpcResponse sendMessage(RpcRequest rpcRequest) {
+        try {
+            return sendAsync(rpcRequest).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("interrupted when waiting for response:", e);
+        } catch (ExecutionException e) {
+            logger.error("occur exception when send message:", e.getCause());
+        }
+        return null;
+    }
+
+    /**
+     * 当前已被借出的连接数
+     */
+    public int acquiredCount() {
+        return pool.acquiredChannelCount();
+    }
+
+    /**
+     * 当前正在等待获取连接的请求数，包括等待新连接建立的请求
+     */
+    public int pendingAcquireCount() {
+        return pendingAcquires.get();
+    }
+
+    /**
+     * 累计建立的连接数
+     */
+    public long connectCount() {
+        return connectCount.sum();
+    }
+
+    /**
+     * 建立连接的平均耗时
+     */
+    public long averageConnectLatency(TimeUnit unit) {
+        long count = connectCount.sum();
+        return count == 0 ? 0 : unit.convert(connectNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 建立连接的最大耗时
+     */
+    public long maxConnectLatency(TimeUnit unit) {
+        return unit.convert(maxConnectNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 关闭连接池及其中所有连接，尚未收到响应的请求以异常结束
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    /**
+     * 统计建立连接耗时的 FixedChannelPool
+     */
+    private final class MeteredChannelPool extends FixedChannelPool {
+
+        MeteredChannelPool(Bootstrap bootstrap, PoolHandler handler,
+                           AcquireTimeoutAction action, long acquireTimeoutMillis,
+                           int maxConnections, int maxPendingAcquires) {
+            // 获取和归还时都检查连接是否可用，空闲关闭的连接会在这里被剔除
+            super(bootstrap, handler, ChannelHealthChecker.ACTIVE, action, acquireTimeoutMillis,
+                    maxConnections, maxPendingAcquires, true, true);
+        }
+
+        @Override
+        protected ChannelFuture connectChannel(Bootstrap bs) {
+            long start = System.nanoTime();
+            ChannelFuture f = super.connectChannel(bs);
+            f.addListener(future -> {
+                if (future.isSuccess()) {
+                    long elapsed = System.nanoTime() - start;
+                    connectCount.increment();
+                    connectNanos.add(elapsed);
+                    maxConnectNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+            return f;
+        }
+    }
+
+    /**
+     * 为新建的连接初始化 pipeline，并按配置回收空闲连接
+     */
+    private static final class PoolHandler extends AbstractChannelPoolHandler {
+        private final long idleTimeoutMillis;
+
+        PoolHandler(long idleTimeoutMillis) {
+            this.idleTimeoutMillis = idleTimeoutMillis;
+        }
+
+        @Override
+        public void channelCreated(Channel ch) {
+            if (idleTimeoutMillis > 0) {
+                ch.pipeline().addLast(new IdleStateHandler(0, 0, idleTimeoutMillis, TimeUnit.MILLISECONDS));
+                ch.pipeline().addLast(new IdleEvictionHandler());
+            }
+            NettyClient.initPipeline(ch.pipeline());
+        }
+    }
+
+    /**
+     * 连接空闲且没有在途请求时关闭连接
+     */
+    private static final class IdleEvictionHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                NettyClientHandler handler = ctx.pipeline().get(NettyClientHandler.class);
+                if (handler == null || handler.pendingCount() == 0) {
+                    logger.info("close idle connection: {}", ctx.channel());
+                    ctx.close();
+                }
+                return;
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        NettyClientPoolConfig config = NettyClientPoolConfig.builder().maxConnections(4).build();
+        try (NettyClientPool pool = new NettyClientPool("127.0.0.1", 8889, config)) {
+            List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                RpcRequest rpcRequest = RpcRequest.builder()
+                        .interfaceName("interface")
+                        .methodName("hello").build();
+                futures.add(pool.sendAsync(rpcRequest));
+            }
+            for (CompletableFuture<RpcResponse> future : futures) {
+                System.out.println(future.get().toString());
+            }
+            System.out.println("connections: " + pool.connectCount()
+                    + ", avg connect latency(us): " + pool.averageConnectLatency(TimeUnit.MICROSECONDS));
+        }
+        NettyClient.shutdown();
+    }
+}
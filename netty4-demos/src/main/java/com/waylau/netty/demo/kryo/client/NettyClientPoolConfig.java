@@ -0,0 +1,47 @@
+package com.waylau.netty.demo.kryo.client;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 连接池配置
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@Getter
+@Builder
+@ToString
+public class NettyClientPoolConfig {
+    /**
+     * 到同一个服务端的最大连接数
+     */
+    @Builder.Default
+    private int maxConnections = 4;
+    /**
+     * 连接数已满时最多允许多少个等待获取连接的请求，超出则立即失败
+     */
+    @Builder.Default
+    private int maxPendingAcquires = 1024;
+    /**
+     * 获取连接的超时时间，小于等于 0 表示一直等待
+     */
+    @Builder.Default
+    private long acquireTimeoutMillis = 3000;
+    /**
+     * 连接空闲超过该时间后关闭，下次获取时由健康检查剔除，小于等于 0 表示不回收
+     */
+    @Builder.Default
+    private long idleTimeoutMillis = 60000;
+    /**
+     * 每个连接上最多同时在途的请求数，未达上限时连接发送后立即归还池中供其他请求复用
+     */
+    @Builder.Default
+    private int pipelineDepth = 1;
+    /**
+     * 发出请求后等待响应的超时时间，小于等于 0 表示一直等待
+     */
+    @Builder.Default
+    private long requestTimeoutMillis = NettyClient.DEFAULT_REQUEST_TIMEOUT_MILLIS;
+}
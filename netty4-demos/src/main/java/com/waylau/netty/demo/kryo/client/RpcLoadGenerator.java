@@ -0,0 +1,180 @@
+package com.waylau.netty.demo.kryo.client;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压测客户端：在不同的流水线深度下以闭环方式压测 {@link NettyClientPool}，
+ * 输出吞吐量及 p50/p99/p999 延迟。延迟记录在 HdrHistogram 中，内存占用与请求数无关。需先启动 NettyServer。
+ *
+ * <pre>
+ * java RpcLoadGenerator [host] [port] [connections] [seconds] [depth...]
+ * </pre>
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class RpcLoadGenerator {
+
+    /**
+     * 延迟直方图的有效数字位数
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String host;
+    private final int port;
+    private final int connections;
+    private final long durationNanos;
+
+    public RpcLoadGenerator(String host, int port, int connections, long duration, TimeUnit unit) {
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+        this.durationNanos = unit.toNanos(duration);
+    }
+
+    /**
+     * 以指定的流水线深度压测一轮，每个连接保持 depth 个在途请求
+     */
+    public Result run(int depth) throws InterruptedException {
+        NettyClientPoolConfig config = NettyClientPoolConfig.builder()
+                .maxConnections(connections)
+                .pipelineDepth(depth)
+                .build();
+        EventExecutorGroup executor = new DefaultEventExecutorGroup(connections);
+        try (NettyClientPool pool = new NettyClientPool(host, port, config)) {
+            // 预热：建立全部连接
+            Worker warmup = new Worker(pool, executor, System.nanoTime() + durationNanos / 5);
+            warmup.start(connections * depth);
+            warmup.await();
+
+            long start = System.nanoTime();
+            Worker worker = new Worker(pool, executor, start + durationNanos);
+            worker.start(connections * depth);
+            worker.await();
+            long elapsed = System.nanoTime() - start;
+            return new Result(depth, worker.completed.sum(), worker.failed.sum(), elapsed, worker.latencies);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 闭环发压：每个请求完成后立即发出下一个，直到截止时间
+     */
+    private static final class Worker {
+        private final NettyClientPool pool;
+        /**
+         * 发出下一个请求的线程。请求可能在 sendAsync 返回前就已完成（如获取连接立即失败），
+         * 若在回调中直接发出下一个，会在同一个栈上不断递归
+         */
+        private final EventExecutorGroup executor;
+        private final long deadline;
+        /**
+         * 响应在各连接的 EventLoop 中完成，需要支持并发记录
+         */
+        private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private CountDownLatch done;
+
+        Worker(NettyClientPool pool, EventExecutorGroup executor, long deadline) {
+            this.pool = pool;
+            this.executor = executor;
+            this.deadline = deadline;
+        }
+
+        void start(int concurrency) {
+            done = new CountDownLatch(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                next();
+            }
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        private void next() {
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                done.countDown();
+                return;
+            }
+            RpcRequest rpcRequest = RpcRequest.builder()
+                    .interfaceName("interface")
+                    .methodName("hello").build();
+            pool.sendAsync(rpcRequest).whenComplete((response, cause) -> {
+                if (cause != null) {
+                    failed.increment();
+                } else {
+                    completed.increment();
+                    latencies.recordValue(System.nanoTime() - start);
+                }
+                executor.execute(this::next);
+            });
+        }
+    }
+
+    /**
+     * 一轮压测的结果
+     */
+    public static final class Result {
+        private final int depth;
+        private final long completed;
+        private final long failed;
+        private final long elapsedNanos;
+        private final Histogram latencies;
+
+        Result(int depth, long completed, long failed, long elapsedNanos, Histogram latencies) {
+            this.depth = depth;
+            this.completed = completed;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        public double throughput() {
+            return completed * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * 指定分位的延迟，单位微秒
+         */
+        public double percentileMicros(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("depth=%-4d ops/s=%-12.0f p50=%-10.1f p99=%-10.1f p999=%-10.1f failed=%d",
+                    depth, throughput(), percentileMicros(50), percentileMicros(99),
+                    percentileMicros(99.9), failed);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8889;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int[] depths = args.length > 4
+                ? Arrays.stream(args, 4, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 4, 16, 64};
+
+        RpcLoadGenerator generator = new RpcLoadGenerator(host, port, connections, seconds, TimeUnit.SECONDS);
+        System.out.println("connections=" + connections + ", latency in us");
+        for (int depth : depths) {
+            System.out.println(generator.run(depth));
+        }
+        NettyClient.shutdown();
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
  * @createTime 2020年05月25日 19:42:00
  */
 @AllArgsConstructor
+@Slf4j
 public class NettyKryoDecoder extends ByteToMessageDecoder {
 
     private final Serializer serializer;
@@ -45,7 +46,7 @@ public class NettyKryoDecoder extends ByteToMessageDecoder {
             int dataLength = in.readInt();
             //4.遇到不合理的情况直接 return
             if (dataLength < 0 || in.readableBytes() < 0) {
-                System.out.println("data length or byteBuf readableBytes is not valid");
+                log.warn("data length or byteBuf readableBytes is not valid");
                 return;
             }
             //5.如果可读字节数小于消息长度的话，说明是不完整的消息，重置readIndex
@@ -54,12 +55,10 @@ public class NettyKryoDecoder extends ByteToMessageDecoder {
                 return;
             }
             // 6.走到这里说明没什么问题了，可以序列化了
-            byte[] body = new byte[dataLength];
-            in.readBytes(body);
-            // 将bytes数组转换为我们需要的对象
-            Object obj = serializer.deserialize(body, genericClass);
+            // 直接从消息体所在的切片反序列化，无需拷贝为 bytes 数组
+            Object obj = serializer.deserialize(in.readSlice(dataLength), genericClass);
             out.add(obj);
-            System.out.println("successful decode ByteBuf to Object");
+            log.debug("successful decode ByteBuf to Object");
         }
     }
 }
\ No newline at end of file
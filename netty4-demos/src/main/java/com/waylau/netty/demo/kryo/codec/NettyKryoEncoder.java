@@ -7,7 +7,7 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import lombok.AllArgsConstructor;
 
 /**
- * 自定义编码器。负责处理"出站"消息，将消息格式转换为字节数组然后写入到字节数据的容器 ByteBuf 对象中。
+ * 自定义编码器。负责处理"出站"消息，将消息直接序列化到字节数据的容器 ByteBuf 对象中。
  * <p>
  * 网络传输需要通过字节流来实现，ByteBuf 可以看作是 Netty 提供的字节数据的容器，使用它会让我们更加方便地处理字节数据。
  *
@@ -20,19 +20,18 @@ public class NettyKryoEncoder extends MessageToByteEncoder<Object> {
     private final Class<?> genericClass;
 
     /**
-     * 将对象转换为字节码然后写入到 ByteBuf 对象中
+     * 将对象序列化后写入到 ByteBuf 对象中，消息长度在序列化完成后回填
      */
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, Object o, ByteBuf byteBuf) {
         if (genericClass.isInstance(o)) {
-            // 1. 将对象转换为byte
-            byte[] body = serializer.serialize(o);
-            // 2. 读取消息的长度
-            int dataLength = body.length;
-            // 3.写入消息对应的字节数组长度,writerIndex 加 4
-            byteBuf.writeInt(dataLength);
-            //4.将字节数组写入 ByteBuf 对象中
-            byteBuf.writeBytes(body);
+            // 1. 先写入长度占位,writerIndex 加 4
+            int lengthIndex = byteBuf.writerIndex();
+            byteBuf.writeInt(0);
+            // 2. 将对象直接序列化到 ByteBuf 对象中
+            serializer.serialize(o, byteBuf);
+            // 3. 回填消息的长度
+            byteBuf.setInt(lengthIndex, byteBuf.writerIndex() - lengthIndex - 4);
         }
     }
 }
\ No newline at end of file
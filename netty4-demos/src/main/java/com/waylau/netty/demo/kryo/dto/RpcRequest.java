@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 /**
@@ -13,9 +14,22 @@ import lombok.ToString;
 @AllArgsConstructor
 @Getter
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @ToString
 public class RpcRequest {
+    /**
+     * 请求 ID，由客户端在发送时分配（写在发出的副本上，不修改调用方的对象），服务端原样返回，用于在同一连接上匹配响应
+     */
+    @Setter
+    private long requestId;
     private String interfaceName;
     private String methodName;
+    /**
+     * 方法参数类型，为空时按方法名匹配唯一的方法
+     */
+    private Class<?>[] paramTypes;
+    /**
+     * 方法参数
+     */
+    private Object[] parameters;
 }
\ No newline at end of file
@@ -16,5 +16,13 @@ import lombok.ToString;
 @Builder
 @ToString
 public class RpcResponse {
+   /**
+    * 对应请求的 ID
+    */
+   private long requestId;
    private String message;
+   /**
+    * 服务方法的返回值
+    */
+   private Object data;
 }
\ No newline at end of file
@@ -5,56 +5,221 @@ import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.waylau.netty.demo.kryo.dto.RpcRequest;
 import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
 
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * @author shuang.kou
  * @createTime 2020年05月13日 19:29:00
  */
 public class KryoSerializer implements Serializer {
+
+    /**
+     * Output 缓冲区的初始大小
+     */
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Output 缓冲区默认允许的最大值，超过则序列化失败
+     */
+    private static final int DEFAULT_MAX_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * 缓冲区扩容到超过该大小时，用完即丢弃，避免每个线程长期占用大块内存
+     */
+    private static final int RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private final int maxBufferSize;
+
     /**
      * 由于 Kryo 不是线程安全的。每个线程都应该有自己的 Kryo，Input 和 Output 实例。
-     * 所以，使用 ThreadLocal 存放 Kryo 对象
+     * 所以，使用 ThreadLocal 存放并复用这些对象，而不是每次序列化都重新创建
      */
-    private static final ThreadLocal<Kryo> kryoThreadLocal = ThreadLocal.withInitial(() -> {
-        Kryo kryo = new Kryo();
-        kryo.register(RpcResponse.class);
-        kryo.register(RpcRequest.class);
-        kryo.setReferences(true);//默认值为true,是否关闭注册行为,关闭之后可能存在序列化问题，一般推荐设置为 true
-        kryo.setRegistrationRequired(false);//默认值为false,是否关闭循环引用，可以提高性能，但是一般不推荐设置为 true
-        return kryo;
-    });
+    private final FastThreadLocal<KryoHolder> kryoThreadLocal = new FastThreadLocal<KryoHolder>() {
+        @Override
+        protected KryoHolder initialValue() {
+            return new KryoHolder(maxBufferSize);
+        }
+    };
+
+    public KryoSerializer() {
+        this(DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    /**
+     * @param maxBufferSize 单个对象序列化后允许的最大字节数
+     */
+    public KryoSerializer(int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
 
     @Override
     public byte[] serialize(Object obj) {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             Output output = new Output(byteArrayOutputStream)) {
-            Kryo kryo = kryoThreadLocal.get();
+        KryoHolder holder = kryoThreadLocal.get();
+        Output output = holder.output;
+        try {
             // Object->byte:将对象序列化为byte数组
-            kryo.writeObject(output, obj);
-            kryoThreadLocal.remove();
+            holder.kryo.writeObject(output, obj);
             return output.toBytes();
         } catch (Exception e) {
-            throw new SerializeException("序列化失败");
+            throw new SerializeException("序列化失败", e);
+        } finally {
+            holder.resetOutput();
         }
     }
 
     @Override
     public <T> T deserialize(byte[] bytes, Class<T> clazz) {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
-             Input input = new Input(byteArrayInputStream)) {
-            Kryo kryo = kryoThreadLocal.get();
+        KryoHolder holder = kryoThreadLocal.get();
+        Input input = holder.input;
+        try {
+            input.setBuffer(bytes);
             // byte->Object:从byte数组中反序列化出对对象
-            Object o = kryo.readObject(input, clazz);
-            kryoThreadLocal.remove();
+            Object o = holder.kryo.readObject(input, clazz);
+            return clazz.cast(o);
+        } catch (Exception e) {
+            throw new SerializeException("反序列化失败", e);
+        } finally {
+            // 不再引用调用方的数组
+            input.setBuffer(EMPTY_BYTES);
+        }
+    }
+
+    @Override
+    public void serialize(Object obj, ByteBuf out) {
+        KryoHolder holder = kryoThreadLocal.get();
+        Output output = holder.output;
+        // Output 的缓冲区写满即 flush 到 out，不再生成完整的中间数组
+        holder.sink.target = out;
+        output.setOutputStream(holder.sink);
+        try {
+            holder.kryo.writeObject(output, obj);
+            output.flush();
+        } catch (Exception e) {
+            throw new SerializeException("序列化失败", e);
+        } finally {
+            output.setOutputStream(null);
+            holder.sink.target = null;
+            holder.resetOutput();
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, Class<T> clazz) {
+        KryoHolder holder = kryoThreadLocal.get();
+        try {
+            Object o;
+            if (in.hasArray()) {
+                // 堆内存直接读取底层数组，无需拷贝
+                Input input = holder.input;
+                input.setBuffer(in.array(), in.arrayOffset() + in.readerIndex(), in.readableBytes());
+                try {
+                    o = holder.kryo.readObject(input, clazz);
+                } finally {
+                    input.setBuffer(EMPTY_BYTES);
+                }
+            } else {
+                Input input = holder.streamInput;
+                holder.source.source = in;
+                input.setInputStream(holder.source);
+                try {
+                    o = holder.kryo.readObject(input, clazz);
+                } finally {
+                    input.setInputStream(null);
+                    holder.source.source = null;
+                }
+            }
             return clazz.cast(o);
         } catch (Exception e) {
-            throw new SerializeException("反序列化失败");
+            throw new SerializeException("反序列化失败", e);
+        } finally {
+            in.skipBytes(in.readableBytes());
         }
     }
 
+    /**
+     * 把 Output 的数据写入当前的目标 ByteBuf，每个线程复用同一个实例
+     */
+    private static final class ByteBufSink extends OutputStream {
+        private ByteBuf target;
+
+        @Override
+        public void write(int b) {
+            target.writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target.writeBytes(b, off, len);
+        }
+    }
+
+    /**
+     * 从当前的源 ByteBuf 读取数据供 Input 使用，每个线程复用同一个实例
+     */
+    private static final class ByteBufSource extends InputStream {
+        private ByteBuf source;
+
+        @Override
+        public int read() {
+            return source.isReadable() ? source.readUnsignedByte() : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int readable = source.readableBytes();
+            if (readable == 0) {
+                return -1;
+            }
+            int n = Math.min(len, readable);
+            source.readBytes(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return source.readableBytes();
+        }
+    }
+
+    /**
+     * 每个线程独享的 Kryo 及其读写缓冲区
+     */
+    private static final class KryoHolder {
+        private final Kryo kryo;
+        private final Input input = new Input();
+        private final Input streamInput = new Input(INITIAL_BUFFER_SIZE);
+        private final ByteBufSink sink = new ByteBufSink();
+        private final ByteBufSource source = new ByteBufSource();
+        private final int maxBufferSize;
+        private Output output;
+
+        KryoHolder(int maxBufferSize) {
+            this.maxBufferSize = maxBufferSize;
+            this.output = newOutput();
+            this.kryo = new Kryo();
+            kryo.register(RpcResponse.class);
+            kryo.register(RpcRequest.class);
+            kryo.setReferences(true);//默认值为true,是否关闭注册行为,关闭之后可能存在序列化问题，一般推荐设置为 true
+            kryo.setRegistrationRequired(false);//默认值为false,是否关闭循环引用，可以提高性能，但是一般不推荐设置为 true
+        }
+
+        private Output newOutput() {
+            return new Output(Math.min(INITIAL_BUFFER_SIZE, maxBufferSize), maxBufferSize);
+        }
+
+        void resetOutput() {
+            if (output.getBuffer().length > RETAINED_BUFFER_SIZE) {
+                output = newOutput();
+            } else {
+                output.clear();
+            }
+        }
+    }
 
-}
\ No newline at end of file
+}
@@ -8,4 +8,8 @@ public class SerializeException extends RuntimeException {
     public SerializeException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    public SerializeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
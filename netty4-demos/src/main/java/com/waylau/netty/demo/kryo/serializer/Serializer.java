@@ -1,5 +1,7 @@
 package com.waylau.netty.demo.kryo.serializer;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * @author shuang.kou
  * @createTime 2020年05月13日 19:29:00
@@ -22,4 +24,28 @@ public interface Serializer {
      * @return 反序列化的对象
      */
     <T> T deserialize(byte[] bytes, Class<T> clazz);
-}
\ No newline at end of file
+
+    /**
+     * 序列化，直接写入 ByteBuf，从 out 的 writerIndex 开始写
+     *
+     * @param obj 要序列化的对象
+     * @param out 写入的目标
+     */
+    default void serialize(Object obj, ByteBuf out) {
+        out.writeBytes(serialize(obj));
+    }
+
+    /**
+     * 反序列化，in 的全部可读字节即为一个对象，读取后这些字节视为已消费
+     *
+     * @param in    序列化后的字节
+     * @param clazz 类
+     * @param <T>
+     * @return 反序列化的对象
+     */
+    default <T> T deserialize(ByteBuf in, Class<T> clazz) {
+        byte[] bytes = new byte[in.readableBytes()];
+        in.readBytes(bytes);
+        return deserialize(bytes, clazz);
+    }
+}
@@ -0,0 +1,22 @@
+package com.waylau.netty.demo.kryo.server;
+
+/**
+ * 业务处理的执行方式
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public enum DispatchMode {
+    /**
+     * 直接在 I/O 线程（EventLoop）上执行，只适合不会阻塞的轻量处理
+     */
+    INLINE,
+    /**
+     * 在有界的 DefaultEventExecutorGroup 上执行，任务队列满时拒绝
+     */
+    EVENT_EXECUTOR,
+    /**
+     * 每个请求一个虚拟线程，运行时不支持虚拟线程（JDK 21 之前）时退化为 EVENT_EXECUTOR
+     */
+    VIRTUAL_THREAD
+}
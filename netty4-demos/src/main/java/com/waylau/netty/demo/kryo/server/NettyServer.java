@@ -6,14 +6,15 @@ import com.waylau.netty.demo.kryo.codec.NettyKryoEncoder;
 import com.waylau.netty.demo.kryo.dto.RpcRequest;
 import com.waylau.netty.demo.kryo.dto.RpcResponse;
 import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+import com.waylau.netty.demo.kryo.service.HelloService;
+import com.waylau.netty.demo.kryo.service.HelloServiceImpl;
+import com.waylau.netty.util.ServerBootstrapFactory;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 
@@ -23,21 +24,24 @@ import io.netty.handler.logging.LoggingHandler;
  */
 public class NettyServer {
     private final int port;
+    private final RpcDispatcher dispatcher;
+    private final ServiceRegistry serviceRegistry;
 
-    private NettyServer(int port) {
+    private NettyServer(int port, RpcDispatcher dispatcher, ServiceRegistry serviceRegistry) {
         this.port = port;
+        this.dispatcher = dispatcher;
+        this.serviceRegistry = serviceRegistry;
     }
 
     private void run() {
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+        EventLoopGroup bossGroup = factory.newBossGroup();
+        EventLoopGroup workerGroup = factory.newWorkerGroup();
         KryoSerializer kryoSerializer = new KryoSerializer();
         try {
-            ServerBootstrap b = new ServerBootstrap();
+            ServerBootstrap b = factory.newServerBootstrap();
             b.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
-                    // TCP默认开启了 Nagle 算法，该算法的作用是尽可能的发送大数据快，减少网络传输。TCP_NODELAY 参数的作用就是控制是否启用 Nagle 算法。
-                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    // TCP_NODELAY 等调优选项已由 ServerBootstrapFactory 统一设置
                     // 是否开启 TCP 底层心跳机制
                     .childOption(ChannelOption.SO_KEEPALIVE, true)
                     //表示系统用于临时存放已完成三次握手的请求的队列的最大长度,如果连接建立频繁，服务器处理创建新连接较慢，可以适当调大这个参数
@@ -48,7 +52,7 @@ public class NettyServer {
                         protected void initChannel(SocketChannel ch) {
                             ch.pipeline().addLast(new NettyKryoDecoder(kryoSerializer, RpcRequest.class));
                             ch.pipeline().addLast(new NettyKryoEncoder(kryoSerializer, RpcResponse.class));
-                            ch.pipeline().addLast(new NettyServerHandler());
+                            ch.pipeline().addLast(new NettyServerHandler(dispatcher, serviceRegistry));
                         }
                     });
 
@@ -62,11 +66,18 @@ public class NettyServer {
         } finally {
             bossGroup.shutdownGracefully();
             workerGroup.shutdownGracefully();
+            dispatcher.shutdown();
         }
     }
 
     public static void main(String[] args) {
-        new NettyServer(8889).run();
+        // 默认在业务线程池上处理请求，示例接口 "interface" 的处理很轻，直接在 I/O 线程上执行
+        RpcDispatcher dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR,
+                Runtime.getRuntime().availableProcessors() * 2, 1024, 256)
+                .route("interface", DispatchMode.INLINE);
+        ServiceRegistry serviceRegistry = new ServiceRegistry()
+                .register(HelloService.class, new HelloServiceImpl());
+        new NettyServer(8889, dispatcher, serviceRegistry).run();
     }
 
 }
\ No newline at end of file
@@ -3,17 +3,19 @@ package com.waylau.netty.demo.kryo.server;
 
 import com.waylau.netty.demo.kryo.dto.RpcRequest;
 import com.waylau.netty.demo.kryo.dto.RpcResponse;
-import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.ReferenceCountUtil;
 import lombok.extern.slf4j.Slf4j;
 
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * 每个连接一个实例，按 {@link RpcDispatcher} 的配置在 I/O 线程或业务线程上处理请求
+ *
  * @author shuang.kou
  * @createTime 2020年05月13日 20:44:00
  */
@@ -22,22 +24,112 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
 
     private static final AtomicInteger atomicInteger = new AtomicInteger(1);
 
+    private final RpcDispatcher dispatcher;
+    private final ServiceRegistry serviceRegistry;
+    /**
+     * 该连接上已交给业务线程、尚未完成的请求数，只在 EventLoop 中访问，
+     * 业务线程完成后把计数交回 EventLoop，暂停与恢复读取因此不会交错
+     */
+    private int inFlight;
+
+    /**
+     * 所有请求都在 I/O 线程上处理
+     */
+    public NettyServerHandler() {
+        this(null);
+    }
+
+    public NettyServerHandler(RpcDispatcher dispatcher) {
+        this(dispatcher, null);
+    }
+
+    /**
+     * @param dispatcher      为 null 时所有请求都在 I/O 线程上处理
+     * @param serviceRegistry 为 null 或未注册请求的接口时，返回固定的消息
+     */
+    public NettyServerHandler(RpcDispatcher dispatcher, ServiceRegistry serviceRegistry) {
+        this.dispatcher = dispatcher;
+        this.serviceRegistry = serviceRegistry;
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
         try {
             RpcRequest rpcRequest = (RpcRequest) msg;
-            log.info("server receive msg: [{}] ,times:[{}]", rpcRequest, atomicInteger.getAndIncrement());
-            RpcResponse messageFromServer = RpcResponse.builder().message("message from server").build();
-            ChannelFuture f = ctx.writeAndFlush(messageFromServer);
-            f.addListener(ChannelFutureListener.CLOSE);
+            Executor executor = dispatcher == null ? null : dispatcher.executorFor(rpcRequest);
+            if (executor == null) {
+                ctx.writeAndFlush(handle(rpcRequest));
+            } else {
+                dispatch(ctx, rpcRequest, executor);
+            }
         } finally {
             ReferenceCountUtil.release(msg);
         }
     }
 
+    private void dispatch(ChannelHandlerContext ctx, RpcRequest rpcRequest, Executor executor) {
+        if (++inFlight >= dispatcher.maxQueueDepth() && ctx.channel().config().isAutoRead()) {
+            // 在途请求过多，暂停读取，让 TCP 窗口把压力传回客户端
+            ctx.channel().config().setAutoRead(false);
+            dispatcher.onReadPaused();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    ctx.writeAndFlush(handle(rpcRequest));
+                } catch (Exception e) {
+                    log.error("server handle request failed", e);
+                    ctx.writeAndFlush(error(rpcRequest, "server error"));
+                } finally {
+                    ctx.executor().execute(() -> complete(ctx));
+                }
+            });
+            dispatcher.onDispatched();
+        } catch (RejectedExecutionException e) {
+            dispatcher.onRejected();
+            ctx.writeAndFlush(error(rpcRequest, "server busy"));
+            complete(ctx);
+        }
+    }
+
+    /**
+     * 在 EventLoop 中调用
+     */
+    private void complete(ChannelHandlerContext ctx) {
+        if (--inFlight <= dispatcher.maxQueueDepth() / 2 && !ctx.channel().config().isAutoRead()) {
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * 业务处理，可能在 I/O 线程或业务线程上执行
+     */
+    private RpcResponse handle(RpcRequest rpcRequest) {
+        log.info("server receive msg: [{}] ,times:[{}]", rpcRequest, atomicInteger.getAndIncrement());
+        if (serviceRegistry != null && serviceRegistry.contains(rpcRequest.getInterfaceName())) {
+            try {
+                return RpcResponse.builder()
+                        .requestId(rpcRequest.getRequestId())
+                        .data(serviceRegistry.invoke(rpcRequest)).build();
+            } catch (RpcInvocationException e) {
+                log.warn("invoke failed: [{}]", rpcRequest, e);
+                return error(rpcRequest, e.getMessage());
+            }
+        }
+        return RpcResponse.builder()
+                .requestId(rpcRequest.getRequestId())
+                .message("message from server").build();
+    }
+
+    private static RpcResponse error(RpcRequest rpcRequest, String message) {
+        return RpcResponse.builder()
+                .requestId(rpcRequest.getRequestId())
+                .message(message).build();
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         log.error("server catch exception", cause);
         ctx.close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.waylau.netty.demo.kryo.server;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.RejectedExecutionHandlers;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 决定每个请求在哪里执行：I/O 线程、业务线程池或虚拟线程，可以按接口名单独指定。
+ * 同时限制每个连接的在途请求数，超过上限时暂停读取该连接，实现背压。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+@Slf4j
+public class RpcDispatcher {
+
+    private final DispatchMode defaultMode;
+    private final Map<String, DispatchMode> routes = new ConcurrentHashMap<>();
+    private final EventExecutorGroup executorGroup;
+    private final ExecutorService virtualThreadExecutor;
+    private final int maxQueueDepth;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder readPauses = new LongAdder();
+
+    /**
+     * @param defaultMode    未单独指定的接口使用的执行方式
+     * @param threads        业务线程池的线程数
+     * @param maxPendingTasks 业务线程池每个线程最多排队的任务数，超出则拒绝
+     * @param maxQueueDepth  每个连接最多在途的请求数，达到后暂停读取，降到一半时恢复
+     */
+    public RpcDispatcher(DispatchMode defaultMode, int threads, int maxPendingTasks, int maxQueueDepth) {
+        this.defaultMode = defaultMode;
+        this.maxQueueDepth = maxQueueDepth;
+        this.executorGroup = new DefaultEventExecutorGroup(threads,
+                new DefaultThreadFactory("rpc-business"), maxPendingTasks, RejectedExecutionHandlers.reject());
+        this.virtualThreadExecutor = newVirtualThreadExecutor();
+    }
+
+    /**
+     * 单独指定某个接口的执行方式
+     */
+    public RpcDispatcher route(String interfaceName, DispatchMode mode) {
+        routes.put(interfaceName, mode);
+        return this;
+    }
+
+    /**
+     * 返回执行该请求的 Executor，在 I/O 线程上直接执行时返回 null
+     */
+    Executor executorFor(RpcRequest rpcRequest) {
+        DispatchMode mode = rpcRequest.getInterfaceName() == null
+                ? defaultMode : routes.getOrDefault(rpcRequest.getInterfaceName(), defaultMode);
+        switch (mode) {
+            case INLINE:
+                return null;
+            case VIRTUAL_THREAD:
+                if (virtualThreadExecutor != null) {
+                    return virtualThreadExecutor;
+                }
+                return executorGroup;
+            default:
+                return executorGroup;
+        }
+    }
+
+    int maxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    void onDispatched() {
+        dispatched.increment();
+    }
+
+    void onRejected() {
+        rejected.increment();
+    }
+
+    void onReadPaused() {
+        readPauses.increment();
+    }
+
+    /**
+     * 已交给业务线程执行的请求数
+     */
+    public long dispatchedCount() {
+        return dispatched.sum();
+    }
+
+    /**
+     * 因业务线程池队列已满而被拒绝的请求数
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 因在途请求过多而暂停读取连接的次数
+     */
+    public long readPauseCount() {
+        return readPauses.sum();
+    }
+
+    public void shutdown() {
+        executorGroup.shutdownGracefully();
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 通过反射创建虚拟线程 Executor，项目按 Java 8 编译，无法直接引用该 API
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("virtual threads not available, fall back to event executor");
+            return null;
+        }
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     */
+    public boolean virtualThreadsAvailable() {
+        return virtualThreadExecutor != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.waylau.netty.demo.kryo.server;
+
+/**
+ * 找不到服务方法或服务方法执行失败
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class RpcInvocationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RpcInvocationException(String message) {
+        super(message);
+    }
+
+    public RpcInvocationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,144 @@
+package com.waylau.netty.demo.kryo.server;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务注册表：注册时把接口的每个方法解析为绑定了服务实例的 MethodHandle，
+ * 调用时只做两次 ConcurrentHashMap 查找及参数类型比较，不再反射，也不拼接字符串。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class ServiceRegistry {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Invoker[] NO_INVOKERS = new Invoker[0];
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    /**
+     * 接口名 -> 方法名 -> 同名的重载方法
+     */
+    private final Map<String, Map<String, Invoker[]>> services = new ConcurrentHashMap<>();
+
+    /**
+     * 注册服务，以接口的全限定名对外暴露
+     */
+    public <T> ServiceRegistry register(Class<T> serviceInterface, T service) {
+        return register(serviceInterface.getName(), serviceInterface, service);
+    }
+
+    /**
+     * 注册服务，以指定的名称对外暴露
+     */
+    public <T> ServiceRegistry register(String interfaceName, Class<T> serviceInterface, T service) {
+        if (!serviceInterface.isInterface()) {
+            throw new IllegalArgumentException(serviceInterface + " is not an interface");
+        }
+        Map<String, Invoker[]> methods = new ConcurrentHashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (Method method : serviceInterface.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Invoker invoker = new Invoker(method.getParameterTypes(), toHandle(lookup, method, service));
+            methods.merge(method.getName(), new Invoker[]{invoker}, ServiceRegistry::concat);
+        }
+        services.put(interfaceName, methods);
+        return this;
+    }
+
+    /**
+     * 是否注册了该接口
+     */
+    public boolean contains(String interfaceName) {
+        return interfaceName != null && services.containsKey(interfaceName);
+    }
+
+    /**
+     * 调用请求对应的服务方法
+     *
+     * @return 方法的返回值，void 方法返回 null
+     * @throws RpcInvocationException 找不到服务方法或服务方法抛出异常
+     */
+    public Object invoke(RpcRequest rpcRequest) {
+        Invoker invoker = lookup(rpcRequest);
+        Object[] parameters = rpcRequest.getParameters();
+        try {
+            return invoker.handle.invokeExact(parameters == null ? NO_PARAMETERS : parameters);
+        } catch (Throwable t) {
+            throw new RpcInvocationException("invoke " + rpcRequest.getInterfaceName()
+                    + "#" + rpcRequest.getMethodName() + " failed", t);
+        }
+    }
+
+    private Invoker lookup(RpcRequest rpcRequest) {
+        Map<String, Invoker[]> methods = rpcRequest.getInterfaceName() == null
+                ? null : services.get(rpcRequest.getInterfaceName());
+        if (methods == null) {
+            throw new RpcInvocationException("service not found: " + rpcRequest.getInterfaceName());
+        }
+        Invoker[] overloads = rpcRequest.getMethodName() == null
+                ? NO_INVOKERS : methods.getOrDefault(rpcRequest.getMethodName(), NO_INVOKERS);
+        Class<?>[] paramTypes = rpcRequest.getParamTypes();
+        if (paramTypes == null) {
+            // 未指定参数类型时只接受没有重载的方法
+            if (overloads.length == 1) {
+                return overloads[0];
+            }
+        } else {
+            for (Invoker invoker : overloads) {
+                if (Arrays.equals(invoker.paramTypes, paramTypes)) {
+                    return invoker;
+                }
+            }
+        }
+        throw new RpcInvocationException("method not found: " + rpcRequest.getInterfaceName()
+                + "#" + rpcRequest.getMethodName() + Arrays.toString(paramTypes));
+    }
+
+    /**
+     * 绑定服务实例并统一为 (Object[])Object，以便 invokeExact 调用
+     */
+    private static MethodHandle toHandle(MethodHandles.Lookup lookup, Method method, Object service) {
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            // 非 public 接口只在注册时放开一次访问检查
+            method.setAccessible(true);
+        }
+        try {
+            return lookup.unreflect(method)
+                    .bindTo(service)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot access " + method, e);
+        }
+    }
+
+    private static Invoker[] concat(Invoker[] a, Invoker[] b) {
+        Invoker[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * 一个服务方法及其参数类型
+     */
+    private static final class Invoker {
+        private final Class<?>[] paramTypes;
+        private final MethodHandle handle;
+
+        Invoker(Class<?>[] paramTypes, MethodHandle handle) {
+            this.paramTypes = paramTypes;
+            this.handle = handle;
+        }
+    }
+}
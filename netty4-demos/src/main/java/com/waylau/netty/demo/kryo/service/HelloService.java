@@ -0,0 +1,14 @@
+package com.waylau.netty.demo.kryo.service;
+
+/**
+ * 示例服务接口
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public interface HelloService {
+
+    String hello(String name);
+
+    int add(int a, int b);
+}
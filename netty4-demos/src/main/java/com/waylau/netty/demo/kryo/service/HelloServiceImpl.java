@@ -0,0 +1,20 @@
+package com.waylau.netty.demo.kryo.service;
+
+/**
+ * 示例服务实现
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+public class HelloServiceImpl implements HelloService {
+
+    @Override
+    public String hello(String name) {
+        return "hello " + name;
+    }
+
+    @Override
+    public int add(int a, int b) {
+        return a + b;
+    }
+}
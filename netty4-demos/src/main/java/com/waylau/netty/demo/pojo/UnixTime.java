@@ -1,5 +1,8 @@
 package com.waylau.netty.demo.pojo;
 
+import com.waylau.netty.demo.codec.spi.SchemaField;
+import com.waylau.netty.demo.codec.spi.WireType;
+
 import java.util.Date;
 
 /**
@@ -7,6 +10,7 @@ import java.util.Date;
  * @date 2020-08-08
  */
 public class UnixTime {
+    @SchemaField(value = 0, type = WireType.VARINT)
     private final long value;
 
     public UnixTime() {
@@ -6,10 +6,12 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
 /**
  * 说明：自定义协议客户端
@@ -47,12 +49,7 @@ public class ProtocolClient {
 			b.handler(new ChannelInitializer<SocketChannel>() {
 				@Override
 				public void initChannel(SocketChannel ch) throws Exception {
-					ch.pipeline().addLast(
-							"decoder",
-							new ProtocolDecoder(MAX_FRAME_LENGTH,
-									LENGTH_FIELD_OFFSET, LENGTH_FIELD_LENGTH,
-									LENGTH_ADJUSTMENT, INITIAL_BYTES_TO_STRIP));
-					ch.pipeline().addLast("encoder", new ProtocolEncoder());
+					initPipeline(ch.pipeline());
 					ch.pipeline().addLast(new ProtocolClientHandler());
 
 				}
@@ -69,7 +66,6 @@ public class ProtocolClient {
 				protocolHeader.setMagic((byte) 0x01);
 				protocolHeader.setMsgType((byte) 0x01);
 				protocolHeader.setReserve((short) 0);
-				protocolHeader.setSn((short) 0);
 				String body = "床前明月光疑是地上霜";
 				StringBuffer sb = new StringBuffer();
 				for (int i = 0; i < 2700; i++) {
@@ -94,6 +90,30 @@ public class ProtocolClient {
 		}
 	}
 
+	/**
+	 * 添加编解码器和滑动窗口，与 ProtocolLoadGenerator 共用
+	 */
+	static void initPipeline(ChannelPipeline pipeline) {
+		if (ProtocolServer.COMPRESSION) {
+			// 解压需在拆帧之后、解析消息之前
+			pipeline.addLast("frameDecoder",
+					new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH,
+							LENGTH_FIELD_OFFSET, LENGTH_FIELD_LENGTH,
+							LENGTH_ADJUSTMENT, INITIAL_BYTES_TO_STRIP));
+			pipeline.addLast("compression", new ProtocolCompressionHandler());
+			pipeline.addLast("decoder", new ProtocolMsgDecoder());
+		} else {
+			pipeline.addLast(
+					"decoder",
+					new ProtocolDecoder(MAX_FRAME_LENGTH,
+							LENGTH_FIELD_OFFSET, LENGTH_FIELD_LENGTH,
+							LENGTH_ADJUSTMENT, INITIAL_BYTES_TO_STRIP));
+		}
+		pipeline.addLast("encoder", new ProtocolEncoder());
+		// 由窗口分配序列号，响应按序列号匹配
+		pipeline.addLast("window", new ProtocolClientWindow(ProtocolServer.WINDOW_SIZE));
+	}
+
 	/**
 	 * @param args
 	 * @throws InterruptedException
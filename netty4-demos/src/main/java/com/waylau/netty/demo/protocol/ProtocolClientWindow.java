@@ -0,0 +1,297 @@
+package com.waylau.netty.demo.protocol;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * 说明：客户端按序列号的滑动窗口
+ *
+ * 每个写出的 ProtocolMsg 都由本处理器分配序列号（0 到 65535 循环），服务端原样带回序列号，
+ * 响应可以乱序到达。窗口的起点是最早未收到响应的序列号，只有序列号落在 [起点, 起点 + windowSize) 内时才写出，
+ * 否则先排队，起点前移后再写出，以此作为流量控制。因为窗口不超过序列号空间的一半，循环后不会混淆。
+ * 写出失败或超时未收到响应的序列号同样释放，不会一直占住窗口的起点；超时后才到达的响应按意外的序列号处理。
+ *
+ * 通过 {@link #request(ProtocolMsg)} 发出的请求，响应用于完成返回的 Future，由 Future 的使用方释放；
+ * 直接写出的消息，响应传给下一个处理器。请求超时时 Future 以 {@link TimeoutException} 结束，
+ * 直接写出的消息超时则触发 exceptionCaught。所有状态只在 Channel 的 EventLoop 中访问，
+ * Future 的回调也在 EventLoop 中执行，不应阻塞。每个 Channel 需要独立的实例。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public class ProtocolClientWindow extends ChannelDuplexHandler {
+
+	static final int SN_SPACE = 1 << 16;
+
+	/**
+	 * 序列号空间的一半，窗口再大就无法区分循环前后的序列号
+	 */
+	public static final int MAX_WINDOW_SIZE = SN_SPACE / 2;
+
+	public static final long DEFAULT_TIMEOUT_MILLIS = 30000;
+
+	private static final Object NO_FUTURE = new Object(); // 直接写出的消息所占的位置
+
+	private final int windowSize;
+	private final Object[] slots; // 按序列号取模，保存 CompletableFuture 或 NO_FUTURE
+	private final ScheduledFuture<?>[] timeouts;
+	private final int mask;
+	private final long timeoutNanos;
+	private final ArrayDeque<PendingWrite> pending = new ArrayDeque<PendingWrite>();
+
+	private ChannelHandlerContext ctx;
+	private int base; // 最早未收到响应的序列号
+	private int next; // 下一个分配的序列号
+	private int inFlight;
+
+	private static final class PendingWrite {
+		final ProtocolMsg msg;
+		final ChannelPromise promise;
+		final Object future;
+
+		PendingWrite(ProtocolMsg msg, ChannelPromise promise, Object future) {
+			this.msg = msg;
+			this.promise = promise;
+			this.future = future;
+		}
+	}
+
+	/**
+	 * 使用默认的超时时间 {@link #DEFAULT_TIMEOUT_MILLIS}
+	 *
+	 * @param windowSize 最多在途的序列号跨度，1 到 {@link #MAX_WINDOW_SIZE}
+	 */
+	public ProtocolClientWindow(int windowSize) {
+		this(windowSize, DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param windowSize 最多在途的序列号跨度，1 到 {@link #MAX_WINDOW_SIZE}
+	 * @param timeout 写出后等待响应的最长时间，0 表示不限
+	 */
+	public ProtocolClientWindow(int windowSize, long timeout, TimeUnit unit) {
+		if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+			throw new IllegalArgumentException("windowSize: " + windowSize + " (expected: 1-" + MAX_WINDOW_SIZE + ")");
+		}
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout: " + timeout + " (expected: >= 0)");
+		}
+		this.windowSize = windowSize;
+		this.timeoutNanos = unit.toNanos(timeout);
+		int capacity = Integer.highestOneBit(windowSize);
+		if (capacity < windowSize) {
+			capacity <<= 1;
+		}
+		this.slots = new Object[capacity];
+		this.timeouts = new ScheduledFuture<?>[capacity];
+		this.mask = capacity - 1;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) {
+		this.ctx = ctx;
+	}
+
+	/**
+	 * 发出请求，响应到达时完成 Future；窗口已满时排队
+	 */
+	public CompletableFuture<ProtocolMsg> request(ProtocolMsg msg) {
+		CompletableFuture<ProtocolMsg> future = new CompletableFuture<ProtocolMsg>();
+		if (ctx.executor().inEventLoop()) {
+			write(msg, ctx.newPromise(), future);
+			ctx.flush();
+		} else {
+			ctx.executor().execute(() -> {
+				write(msg, ctx.newPromise(), future);
+				ctx.flush();
+			});
+		}
+		return future;
+	}
+
+	/**
+	 * 在途（已写出未收到响应）的消息数
+	 */
+	public int inFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * 因窗口已满而排队的消息数
+	 */
+	public int pendingCount() {
+		return pending.size();
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+		if (msg instanceof ProtocolMsg) {
+			write((ProtocolMsg) msg, promise, NO_FUTURE);
+		} else {
+			ctx.write(msg, promise);
+		}
+	}
+
+	private void write(ProtocolMsg msg, ChannelPromise promise, Object future) {
+		if (!ctx.channel().isActive()) {
+			fail(msg, promise, future, new ClosedChannelException());
+			return;
+		}
+		if (!pending.isEmpty() || !windowOpen()) {
+			pending.add(new PendingWrite(msg, promise, future));
+			return;
+		}
+		send(msg, promise, future);
+	}
+
+	/**
+	 * 分配序列号并写出，调用前需确认窗口未满
+	 */
+	private void send(ProtocolMsg msg, ChannelPromise promise, Object future) {
+		int sn = next;
+		next = (next + 1) & (SN_SPACE - 1);
+		slots[sn & mask] = future;
+		inFlight++;
+		msg.getProtocolHeader().setSn((short) sn);
+		if (timeoutNanos > 0) {
+			timeouts[sn & mask] = ctx.executor().schedule(
+					() -> expire(sn, new TimeoutException("no response for sn " + sn)),
+					timeoutNanos, TimeUnit.NANOSECONDS);
+		}
+		ChannelPromise p = promise.unvoid();
+		p.addListener((ChannelFutureListener) f -> {
+			if (!f.isSuccess()) {
+				// 写出可能在 send 中同步失败，稍后再释放，避免在 advance 中递归
+				ctx.executor().execute(() -> expire(sn, f.cause()));
+			}
+		});
+		ctx.write(msg, p);
+	}
+
+	/**
+	 * 写出失败或超时，释放该序列号；已收到响应或已释放时忽略
+	 */
+	private void expire(int sn, Throwable cause) {
+		if (!inWindow(sn) || slots[sn & mask] == null) {
+			return;
+		}
+		Object future = take(sn);
+		if (future instanceof CompletableFuture) {
+			((CompletableFuture<?>) future).completeExceptionally(cause);
+		} else if (cause instanceof TimeoutException) {
+			// 写出失败已通过 promise 通知，只有超时需要另外报告
+			ctx.fireExceptionCaught(cause);
+		}
+		advance();
+	}
+
+	/**
+	 * 清空 sn 所在的位置并取消超时，返回其中保存的 Future
+	 */
+	private Object take(int sn) {
+		Object future = slots[sn & mask];
+		slots[sn & mask] = null;
+		ScheduledFuture<?> timeout = timeouts[sn & mask];
+		if (timeout != null) {
+			timeout.cancel(false);
+			timeouts[sn & mask] = null;
+		}
+		inFlight--;
+		return future;
+	}
+
+	private boolean windowOpen() {
+		return ((next - base) & (SN_SPACE - 1)) < windowSize;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object obj) throws Exception {
+		if (!(obj instanceof ProtocolMsg)) {
+			ctx.fireChannelRead(obj);
+			return;
+		}
+		ProtocolMsg msg = (ProtocolMsg) obj;
+		int sn = msg.getProtocolHeader().getSn() & 0xFFFF;
+		Object future = inWindow(sn) ? slots[sn & mask] : null;
+		if (future == null) {
+			// 不在窗口内或已收到过响应
+			ReferenceCountUtil.release(msg);
+			ctx.fireExceptionCaught(new IllegalStateException("unexpected sn: " + sn));
+			return;
+		}
+		take(sn);
+		advance();
+
+		if (future == NO_FUTURE) {
+			ctx.fireChannelRead(msg);
+		} else {
+			((CompletableFuture<ProtocolMsg>) future).complete(msg);
+		}
+	}
+
+	/**
+	 * sn 是否在 [base, next) 内
+	 */
+	private boolean inWindow(int sn) {
+		return ((sn - base) & (SN_SPACE - 1)) < ((next - base) & (SN_SPACE - 1));
+	}
+
+	/**
+	 * 起点前移到最早未收到响应的序列号，再写出排队的消息
+	 */
+	private void advance() {
+		while (base != next && slots[base & mask] == null) {
+			base = (base + 1) & (SN_SPACE - 1);
+		}
+		boolean written = false;
+		while (!pending.isEmpty() && windowOpen()) {
+			PendingWrite write = pending.poll();
+			send(write.msg, write.promise, write.future);
+			written = true;
+		}
+		if (written) {
+			ctx.flush();
+		}
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+		ClosedChannelException cause = new ClosedChannelException();
+		for (int i = 0; i < slots.length; i++) {
+			if (slots[i] instanceof CompletableFuture) {
+				((CompletableFuture<?>) slots[i]).completeExceptionally(cause);
+			}
+			slots[i] = null;
+			if (timeouts[i] != null) {
+				timeouts[i].cancel(false);
+				timeouts[i] = null;
+			}
+		}
+		inFlight = 0;
+		base = next;
+		PendingWrite write;
+		while ((write = pending.poll()) != null) {
+			fail(write.msg, write.promise, write.future, cause);
+		}
+		ctx.fireChannelInactive();
+	}
+
+	private static void fail(ProtocolMsg msg, ChannelPromise promise, Object future, Throwable cause) {
+		ReferenceCountUtil.release(msg);
+		promise.tryFailure(cause);
+		if (future instanceof CompletableFuture) {
+			((CompletableFuture<?>) future).completeExceptionally(cause);
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.waylau.netty.demo.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * 说明：按消息头标志压缩消息体
+ *
+ * 以完整的帧为单位工作：入站放在 LengthFieldBasedFrameDecoder 与 ProtocolMsgDecoder 之间，
+ * 出站位于 ProtocolEncoder 之后（即在 pipeline 中排在编码器前面）。
+ * 写出时消息体不小于 threshold 字节且压缩后更小，就用 Snappy 压缩，并在保留字中置 {@link #COMPRESSED} 位；
+ * 读入时遇到该位则解压并清除该位，后面的解码器看到的仍是未压缩的帧。
+ * 压缩和解压都在 ByteBuf 之间直接进行，使用 Channel 的分配器，不经过 byte[]。
+ *
+ * 两端都需要安装本处理器。Snappy 解压有状态，每个 Channel 需要独立的实例。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public class ProtocolCompressionHandler extends ChannelDuplexHandler {
+
+	/**
+	 * 保留字中表示消息体已用 Snappy 压缩的位
+	 */
+	public static final short COMPRESSED = 0x0001;
+
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private static final int HEADER_SIZE = ProtocolMsgDecoder.HEADER_SIZE;
+
+	private final Snappy snappy = new Snappy();
+	private final int threshold;
+	private final int maxBodyLength;
+
+	public ProtocolCompressionHandler() {
+		this(DEFAULT_THRESHOLD, 1024 * 1024);
+	}
+
+	/**
+	 * @param threshold 消息体不小于该字节数时才压缩
+	 * @param maxBodyLength 允许解压后的最大消息体长度
+	 */
+	public ProtocolCompressionHandler(int threshold, int maxBodyLength) {
+		this.threshold = threshold;
+		this.maxBodyLength = maxBodyLength;
+	}
+
+	/**
+	 * 是否为恰好一个完整的帧
+	 */
+	private static boolean isFrame(ByteBuf buf) {
+		return buf.readableBytes() >= HEADER_SIZE
+				&& ProtocolHeaders.len(buf) == buf.readableBytes() - HEADER_SIZE;
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (msg instanceof ByteBuf) {
+			ByteBuf frame = (ByteBuf) msg;
+			if (isFrame(frame) && (ProtocolHeaders.reserve(frame) & COMPRESSED) != 0) {
+				ByteBuf decompressed;
+				try {
+					decompressed = decompress(ctx, frame);
+				} finally {
+					frame.release();
+				}
+				ctx.fireChannelRead(decompressed);
+				return;
+			}
+		}
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+		if (msg instanceof ByteBuf) {
+			ByteBuf frame = (ByteBuf) msg;
+			if (isFrame(frame) && ProtocolHeaders.len(frame) >= threshold
+					&& (ProtocolHeaders.reserve(frame) & COMPRESSED) == 0) {
+				ByteBuf compressed = compress(ctx, frame);
+				if (compressed.readableBytes() < frame.readableBytes()) {
+					frame.release();
+					ctx.write(compressed, promise);
+					return;
+				}
+				compressed.release(); // 压缩后没有变小，原样写出
+			}
+		}
+		ctx.write(msg, promise);
+	}
+
+	private ByteBuf compress(ChannelHandlerContext ctx, ByteBuf frame) {
+		int index = frame.readerIndex();
+		int len = ProtocolHeaders.len(frame);
+		// Snappy 压缩结果的上限，预先分配，写入过程中无需扩容
+		ByteBuf out = ctx.alloc().buffer(HEADER_SIZE + 32 + len + len / 6);
+		try {
+			out.writeBytes(frame, index, HEADER_SIZE);
+			out.setShort(out.readerIndex() + ProtocolMsgDecoder.RESERVE_OFFSET,
+					ProtocolHeaders.reserve(frame) | COMPRESSED);
+			// Snappy.encode 把 length 当作结束位置，输入的读索引必须为 0，因此传入消息体的切片
+			snappy.encode(frame.slice(index + HEADER_SIZE, len), out, len);
+			out.setInt(out.readerIndex() + ProtocolMsgDecoder.LEN_OFFSET, out.readableBytes() - HEADER_SIZE);
+			return out;
+		} catch (RuntimeException e) {
+			out.release();
+			throw e;
+		}
+	}
+
+	private ByteBuf decompress(ChannelHandlerContext ctx, ByteBuf frame) {
+		int index = frame.readerIndex();
+		int bodyLength = uncompressedLength(frame, index + HEADER_SIZE);
+		if (bodyLength > maxBodyLength) {
+			throw new TooLongFrameException("decompressed body length exceeds " + maxBodyLength + ": " + bodyLength);
+		}
+		// 最大容量限制为允许的最大长度，实际数据比声明的长时在写满前即失败，不会跟着扩容
+		ByteBuf out = ctx.alloc().buffer(HEADER_SIZE + bodyLength, HEADER_SIZE + maxBodyLength);
+		try {
+			out.writeBytes(frame, index, HEADER_SIZE);
+			out.setShort(out.readerIndex() + ProtocolMsgDecoder.RESERVE_OFFSET,
+					ProtocolHeaders.reserve(frame) & ~COMPRESSED);
+			frame.readerIndex(index + HEADER_SIZE);
+			try {
+				snappy.decode(frame, out);
+			} catch (IndexOutOfBoundsException e) {
+				throw new TooLongFrameException("decompressed body length exceeds " + maxBodyLength, e);
+			}
+			if (out.readableBytes() - HEADER_SIZE != bodyLength || frame.isReadable()) {
+				throw new CorruptedFrameException("truncated compressed body");
+			}
+			out.setInt(out.readerIndex() + ProtocolMsgDecoder.LEN_OFFSET, bodyLength);
+			return out;
+		} catch (RuntimeException e) {
+			out.release();
+			throw e;
+		} finally {
+			snappy.reset();
+		}
+	}
+
+	/**
+	 * 读取 Snappy 数据开头以变长整数记录的原始长度，不改变读索引
+	 */
+	private static int uncompressedLength(ByteBuf buf, int index) {
+		int result = 0;
+		for (int shift = 0, i = index; shift < 32 && i < buf.writerIndex(); shift += 7, i++) {
+			int b = buf.getUnsignedByte(i);
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (result < 0) {
+					break;
+				}
+				return result;
+			}
+		}
+		throw new CorruptedFrameException("invalid compressed body length");
+	}
+
+}
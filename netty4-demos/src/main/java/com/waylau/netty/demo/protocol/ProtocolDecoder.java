@@ -1,22 +1,24 @@
 package com.waylau.netty.demo.protocol;
 
+import java.util.function.Supplier;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
 /**
- * 说明：
+ * 说明：解码器
+ *
+ * 帧解码需要按 Channel 累积数据，因此每个 Channel 需要一个实例；消息头解析委托给无状态的
+ * {@link ProtocolMsgDecoder}。连接数很多时，可用 LengthFieldBasedFrameDecoder 加上共享的
+ * ProtocolMsgDecoder 代替本类。
  *
  * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月11日 
  */
 public class ProtocolDecoder extends LengthFieldBasedFrameDecoder {
-	private static final int HEADER_SIZE = 10;
 
-	private byte magic; // 魔数
-	private byte msgType; // 消息类型
-	private short reserve; // 保留字
-	private short sn; // 序列号
-	private int len; // 长度
+	private final boolean zeroCopy; // 是否以 ByteBuf 切片作为消息体
+	private final Supplier<ProtocolMsg> msgFactory; // 创建 ProtocolMsg，池化或非池化
  
 	/**
 	 * @param maxFrameLength
@@ -27,8 +29,8 @@ public class ProtocolDecoder extends LengthFieldBasedFrameDecoder {
 	 */
 	public ProtocolDecoder(int maxFrameLength, int lengthFieldOffset,
 			int lengthFieldLength, int lengthAdjustment, int initialBytesToStrip) {
-		super(maxFrameLength, lengthFieldOffset, lengthFieldLength,
-				lengthAdjustment, initialBytesToStrip);
+		this(maxFrameLength, lengthFieldOffset, lengthFieldLength,
+				lengthAdjustment, initialBytesToStrip, true, false);
  	}
 
 	/**
@@ -42,9 +44,53 @@ public class ProtocolDecoder extends LengthFieldBasedFrameDecoder {
 	public ProtocolDecoder(int maxFrameLength, int lengthFieldOffset,
 			int lengthFieldLength, int lengthAdjustment,
 			int initialBytesToStrip, boolean failFast) {
+		this(maxFrameLength, lengthFieldOffset, lengthFieldLength,
+				lengthAdjustment, initialBytesToStrip, failFast, false);
+	}
+
+	/**
+	 * @param maxFrameLength
+	 * @param lengthFieldOffset
+	 * @param lengthFieldLength
+	 * @param lengthAdjustment
+	 * @param initialBytesToStrip
+	 * @param failFast
+	 * @param zeroCopy 为 true 时消息体直接引用帧的切片，不再拷贝为 String
+	 */
+	public ProtocolDecoder(int maxFrameLength, int lengthFieldOffset,
+			int lengthFieldLength, int lengthAdjustment,
+			int initialBytesToStrip, boolean failFast, boolean zeroCopy) {
+		this(maxFrameLength, lengthFieldOffset, lengthFieldLength,
+				lengthAdjustment, initialBytesToStrip, failFast, zeroCopy, false);
+	}
+
+	/**
+	 * @param maxFrameLength
+	 * @param lengthFieldOffset
+	 * @param lengthFieldLength
+	 * @param lengthAdjustment
+	 * @param initialBytesToStrip
+	 * @param failFast
+	 * @param zeroCopy 为 true 时消息体直接引用帧的切片，不再拷贝为 String
+	 * @param pooled 为 true 时消息来自对象池，见 {@link ProtocolMsg#newInstance()}
+	 */
+	public ProtocolDecoder(int maxFrameLength, int lengthFieldOffset,
+			int lengthFieldLength, int lengthAdjustment,
+			int initialBytesToStrip, boolean failFast, boolean zeroCopy, boolean pooled) {
+		this(maxFrameLength, lengthFieldOffset, lengthFieldLength, lengthAdjustment,
+				initialBytesToStrip, failFast, zeroCopy, ProtocolMsgDecoder.msgFactory(pooled));
+	}
+
+	/**
+	 * @param msgFactory 为每个帧创建消息，测试时可由其指定泄漏检测器
+	 */
+	ProtocolDecoder(int maxFrameLength, int lengthFieldOffset,
+			int lengthFieldLength, int lengthAdjustment,
+			int initialBytesToStrip, boolean failFast, boolean zeroCopy, Supplier<ProtocolMsg> msgFactory) {
 		super(maxFrameLength, lengthFieldOffset, lengthFieldLength,
 				lengthAdjustment, initialBytesToStrip, failFast);
-		// TODO Auto-generated constructor stub
+		this.zeroCopy = zeroCopy;
+		this.msgFactory = msgFactory;
 	}
 
  
@@ -54,30 +100,12 @@ public class ProtocolDecoder extends LengthFieldBasedFrameDecoder {
 		if (in == null) {
 		    return null;
 		}
-		
-		if (in.readableBytes() < HEADER_SIZE) {
-			return null;// response header is 10 bytes
-		}
 
-		magic = in.readByte();
-		msgType = in.readByte();
-		reserve = in.readShort();
-		sn = in.readShort();
-		len = in.readInt();
-
-		if (in.readableBytes() < len) {
-			return null; // until we have the entire payload return
+		// 帧本身是 retainedSlice，零拷贝模式下消息另持有其切片，因此这里总是释放帧
+		try {
+			return ProtocolMsgDecoder.decodeFrame(in, zeroCopy, msgFactory);
+		} finally {
+			in.release();
 		}
-
-		ByteBuf buf = in.readBytes(len);
-		byte[] req = new byte[buf.readableBytes()];
-		buf.readBytes(req);
-		String body = new String(req, "UTF-8");
-		ProtocolMsg msg = new ProtocolMsg();
-		ProtocolHeader protocolHeader = new ProtocolHeader(magic, msgType,
-				reserve, sn, len);
-		msg.setBody(body);
-		msg.setProtocolHeader(protocolHeader);
-		return msg;
 	}
 }
@@ -0,0 +1,109 @@
+package com.waylau.netty.demo.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * 说明：按消息类型分发 ProtocolMsg
+ *
+ * 处理器保存在以消息类型的无符号值为下标的数组中，分发时只做一次数组访问。
+ * 消息类型可以指定独立的 EventExecutorGroup，该类型的消息在其中执行，慢的类型不会阻塞 I/O 线程和其它类型；
+ * 同一连接的同一类型总是由同一个 EventExecutor 执行，保持顺序。此时处理器应使用 writeAndFlush 写出。
+ * 未注册的类型原样传给下一个处理器。
+ *
+ * 注册需在服务端启动前完成，之后只读，可被所有 Channel 共享。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+@Sharable
+public class ProtocolDispatcher extends ChannelInboundHandlerAdapter {
+
+	private static final int TYPES = 256;
+
+	private final ProtocolMsgHandler[] handlers = new ProtocolMsgHandler[TYPES];
+	private final EventExecutor[][] executors = new EventExecutor[TYPES][];
+
+	public ProtocolDispatcher register(MsgType msgType, ProtocolMsgHandler handler) {
+		return register(msgType.getValue(), handler, null);
+	}
+
+	/**
+	 * @param group 执行该类型处理器的线程池，为 null 时在 I/O 线程执行
+	 */
+	public ProtocolDispatcher register(MsgType msgType, ProtocolMsgHandler handler, EventExecutorGroup group) {
+		return register(msgType.getValue(), handler, group);
+	}
+
+	/**
+	 * @param group 执行该类型处理器的线程池，为 null 时在 I/O 线程执行
+	 */
+	public ProtocolDispatcher register(byte msgType, ProtocolMsgHandler handler, EventExecutorGroup group) {
+		if (handler == null) {
+			throw new NullPointerException("handler");
+		}
+		int index = msgType & 0xFF;
+		handlers[index] = handler;
+		executors[index] = group == null ? null : toArray(group);
+		return this;
+	}
+
+	private static EventExecutor[] toArray(EventExecutorGroup group) {
+		List<EventExecutor> list = new ArrayList<EventExecutor>();
+		for (EventExecutor executor : group) {
+			list.add(executor);
+		}
+		return list.toArray(new EventExecutor[0]);
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object obj) throws Exception {
+		if (!(obj instanceof ProtocolMsg)) {
+			ctx.fireChannelRead(obj);
+			return;
+		}
+		ProtocolMsg msg = (ProtocolMsg) obj;
+		int index = msg.getProtocolHeader().getMsgType() & 0xFF;
+		ProtocolMsgHandler handler = handlers[index];
+		if (handler == null) {
+			ctx.fireChannelRead(msg);
+			return;
+		}
+
+		EventExecutor[] children = executors[index];
+		if (children == null) {
+			invoke(ctx, handler, msg);
+			return;
+		}
+		EventExecutor executor = children[(ctx.channel().hashCode() & Integer.MAX_VALUE) % children.length];
+		try {
+			executor.execute(() -> invoke(ctx, handler, msg));
+		} catch (RejectedExecutionException e) {
+			msg.release();
+			ctx.fireExceptionCaught(e);
+		}
+	}
+
+	private static void invoke(ChannelHandlerContext ctx, ProtocolMsgHandler handler, ProtocolMsg msg) {
+		try {
+			handler.handle(ctx, msg);
+		} catch (Throwable t) {
+			ctx.fireExceptionCaught(t);
+		} finally {
+			msg.release();
+		}
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+		ctx.flush(); // 在 I/O 线程执行的处理器只 write
+		ctx.fireChannelReadComplete();
+	}
+
+}
@@ -3,10 +3,11 @@
  */
 package com.waylau.netty.demo.protocol;
 
-import java.nio.charset.Charset;
-
+import com.waylau.netty.util.Utf8Sizes;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
@@ -15,6 +16,7 @@ import io.netty.handler.codec.MessageToByteEncoder;
  *
  * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月10日 
  */
+@Sharable
 public class ProtocolEncoder extends MessageToByteEncoder<ProtocolMsg> {
 
 	/**
@@ -60,16 +62,50 @@ public class ProtocolEncoder extends MessageToByteEncoder<ProtocolMsg> {
 			throw new Exception("The encode message is null");
 		}
 		ProtocolHeader header = msg.getProtocolHeader();
+		ByteBuf content = msg.content();
+		if (content != null) {
+			// 零拷贝模式解码出的消息，直接写出原始消息体，无需再编码
+			writeHeader(header, content.readableBytes(), out);
+			out.writeBytes(content, content.readerIndex(), content.readableBytes());
+			return;
+		}
+
+		// 先写入长度占位，消息体直接以 UTF-8 写入 out 后再回填实际长度；
+		// out 由 allocateBuffer 按估算的消息体长度分配，剩余空间即为预留长度，无需再次估算
+		int lenIndex = out.writerIndex() + ProtocolMsgDecoder.LEN_OFFSET;
+		writeHeader(header, 0, out);
+		int bodySize = ByteBufUtil.reserveAndWriteUtf8(out, bodyOf(msg), out.writableBytes());
+		out.setInt(lenIndex, bodySize);
+	}
+
+	/**
+	 * 按消息的实际编码长度分配缓冲区，避免 out 在写入过程中扩容
+	 */
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ProtocolMsg msg,
+			boolean preferDirect) throws Exception {
+		ByteBuf content = msg.content();
+		int bodySize = content != null ? content.readableBytes()
+				: Utf8Sizes.estimate(bodyOf(msg));
+		int capacity = ProtocolMsgDecoder.HEADER_SIZE + bodySize;
+		if (preferDirect) {
+			return ctx.alloc().ioBuffer(capacity);
+		} else {
+			return ctx.alloc().heapBuffer(capacity);
+		}
+	}
+
+	private static String bodyOf(ProtocolMsg msg) {
 		String body = msg.getBody();
-		byte[] bodyBytes = body.getBytes(Charset.forName("utf-8"));
-		int bodySize = bodyBytes.length;
-		
+		return body == null ? "" : body;
+	}
+
+	private static void writeHeader(ProtocolHeader header, int bodySize, ByteBuf out) {
 		out.writeByte(header.getMagic());
 		out.writeByte(header.getMsgType());
 		out.writeShort(header.getReserve());
 		out.writeShort(header.getSn());
 		out.writeInt(bodySize);
-		out.writeBytes(bodyBytes);
 	}
 
 }
@@ -1,5 +1,6 @@
 package com.waylau.netty.demo.protocol;
  
+import com.waylau.netty.demo.codec.spi.SchemaField;
 
 /**
  * 说明：协议消息头
@@ -8,11 +9,11 @@ package com.waylau.netty.demo.protocol;
  */
 public class ProtocolHeader{
  
-	private byte magic; 	// 魔数
-	private byte msgType;	// 消息类型
-	private short reserve;	// 保留字
-	private short sn;		// 序列号
-	private int len;		// 长度
+	@SchemaField(0) private byte magic; 	// 魔数
+	@SchemaField(1) private byte msgType;	// 消息类型
+	@SchemaField(2) private short reserve;	// 保留字
+	@SchemaField(3) private short sn;		// 序列号
+	@SchemaField(4) private int len;		// 长度
 	
 	public byte getMagic() {
 		return magic;
@@ -0,0 +1,91 @@
+package com.waylau.netty.demo.protocol;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 说明：不创建 ProtocolHeader 对象即可读取消息头的静态方法
+ *
+ * 一类方法直接按固定偏移量从帧中读取单个字段，帧的读索引需指向消息头起始位置，读取不改变索引；
+ * 另一类方法把魔数、消息类型、保留字、序列号打包为一个 long（高位在前，共 48 位），
+ * 以便在处理器之间传递或保存。长度字段可由帧长度得到，不参与打包。
+ *
+ * <pre>
+ * 位    47..40  39..32   31..16   15..0
+ * 字段  magic   msgType  reserve  sn
+ * </pre>
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public final class ProtocolHeaders {
+
+	/**
+	 * 消息头长度
+	 */
+	public static final int HEADER_SIZE = ProtocolMsgDecoder.HEADER_SIZE;
+
+	private ProtocolHeaders() {
+	}
+
+	public static byte magic(ByteBuf frame) {
+		return frame.getByte(frame.readerIndex() + ProtocolMsgDecoder.MAGIC_OFFSET);
+	}
+
+	public static byte msgType(ByteBuf frame) {
+		return frame.getByte(frame.readerIndex() + ProtocolMsgDecoder.MSG_TYPE_OFFSET);
+	}
+
+	public static short reserve(ByteBuf frame) {
+		return frame.getShort(frame.readerIndex() + ProtocolMsgDecoder.RESERVE_OFFSET);
+	}
+
+	public static short sn(ByteBuf frame) {
+		return frame.getShort(frame.readerIndex() + ProtocolMsgDecoder.SN_OFFSET);
+	}
+
+	public static int len(ByteBuf frame) {
+		return frame.getInt(frame.readerIndex() + ProtocolMsgDecoder.LEN_OFFSET);
+	}
+
+	/**
+	 * 把帧的消息头打包为 long，只做一次读取
+	 */
+	public static long pack(ByteBuf frame) {
+		// 消息头有 10 字节，读取前 8 字节后丢掉长度字段的高 2 字节
+		return frame.getLong(frame.readerIndex()) >>> 16;
+	}
+
+	public static long pack(byte magic, byte msgType, short reserve, short sn) {
+		return (magic & 0xFFL) << 40
+				| (msgType & 0xFFL) << 32
+				| (reserve & 0xFFFFL) << 16
+				| (sn & 0xFFFFL);
+	}
+
+	public static long pack(ProtocolHeader header) {
+		return pack(header.getMagic(), header.getMsgType(), header.getReserve(), header.getSn());
+	}
+
+	public static byte magic(long packed) {
+		return (byte) (packed >>> 40);
+	}
+
+	public static byte msgType(long packed) {
+		return (byte) (packed >>> 32);
+	}
+
+	public static short reserve(long packed) {
+		return (short) (packed >>> 16);
+	}
+
+	public static short sn(long packed) {
+		return (short) packed;
+	}
+
+	/**
+	 * 在需要时再由打包的消息头创建 ProtocolHeader
+	 */
+	public static ProtocolHeader toHeader(long packed, int len) {
+		return new ProtocolHeader(magic(packed), msgType(packed), reserve(packed), sn(packed), len);
+	}
+
+}
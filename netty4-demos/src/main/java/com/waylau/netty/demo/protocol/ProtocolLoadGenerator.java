@@ -0,0 +1,471 @@
+package com.waylau.netty.demo.protocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * 说明：自定义协议压测客户端
+ *
+ * N 个连接共用一个 EventLoopGroup，请求经 {@link ProtocolClientWindow} 按序列号匹配响应。支持两种发压方式：
+ * <ul>
+ * <li>开环：按固定速率发出请求，不论之前的请求是否完成，延迟从计划发出的时间算起，
+ * 客户端或服务端停顿期间本应发出的请求也会计入停顿时间，即修正了协调遗漏（coordinated omission）；</li>
+ * <li>闭环：每个连接保持固定数量的在途请求，完成一个再发一个，延迟从实际发出的时间算起，
+ * 修正时以未修正延迟的中位数作为无停顿时的期望间隔，由 HdrHistogram 补上停顿期间缺失的样本。</li>
+ * </ul>
+ * 消息体大小和各消息类型的比例可以配置。预热期间发出的请求不计入结果，截止后等待在途请求完成再统计。
+ *
+ * <pre>
+ * java -Dprotocol.load.rate=20000 ProtocolLoadGenerator [host] [port]
+ * </pre>
+ *
+ * 可用的系统属性：connections、threads、seconds、warmup、rate（0 为闭环）、concurrency、payload、
+ * mix（如 EMGW_LOGIN_REQ:3,EMGW_LOGIN_RES:1），均以 protocol.load. 为前缀。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public class ProtocolLoadGenerator {
+
+	private static final long MIN_TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(100); // 开环发压的最小定时间隔
+	private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10); // 截止后等待在途请求的最长时间
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final String host;
+	private final int port;
+
+	private int connections = 100;
+	private int threads; // 0 表示使用 Netty 的默认线程数
+	private int payloadSize = 64;
+	private final int[] weights = new int[MsgType.values().length];
+	private int rate; // 每秒发出的请求总数，0 表示闭环
+	private int concurrency = 1;
+	private long warmupNanos = TimeUnit.SECONDS.toNanos(2);
+	private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+
+	public ProtocolLoadGenerator(String host, int port) {
+		this.host = host;
+		this.port = port;
+	}
+
+	public ProtocolLoadGenerator connections(int connections) {
+		this.connections = checkPositive(connections, "connections");
+		return this;
+	}
+
+	/**
+	 * @param threads EventLoop 线程数，0 表示使用 Netty 的默认值
+	 */
+	public ProtocolLoadGenerator threads(int threads) {
+		if (threads < 0) {
+			throw new IllegalArgumentException("threads: " + threads + " (expected: >= 0)");
+		}
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * @param payloadSize 消息体字节数
+	 */
+	public ProtocolLoadGenerator payloadSize(int payloadSize) {
+		if (payloadSize < 0) {
+			throw new IllegalArgumentException("payloadSize: " + payloadSize + " (expected: >= 0)");
+		}
+		this.payloadSize = payloadSize;
+		return this;
+	}
+
+	/**
+	 * 设置消息类型的权重，请求按权重随机选择消息类型；未设置任何权重时各类型均等
+	 */
+	public ProtocolLoadGenerator mix(MsgType msgType, int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("weight: " + weight + " (expected: >= 0)");
+		}
+		weights[msgType.ordinal()] = weight;
+		return this;
+	}
+
+	/**
+	 * 开环发压
+	 *
+	 * @param rate 所有连接每秒发出的请求总数
+	 */
+	public ProtocolLoadGenerator openLoop(int rate) {
+		this.rate = checkPositive(rate, "rate");
+		return this;
+	}
+
+	/**
+	 * 闭环发压
+	 *
+	 * @param concurrency 每个连接的在途请求数
+	 */
+	public ProtocolLoadGenerator closedLoop(int concurrency) {
+		this.concurrency = checkPositive(concurrency, "concurrency");
+		this.rate = 0;
+		return this;
+	}
+
+	public ProtocolLoadGenerator warmup(long warmup, TimeUnit unit) {
+		this.warmupNanos = unit.toNanos(warmup);
+		return this;
+	}
+
+	public ProtocolLoadGenerator duration(long duration, TimeUnit unit) {
+		this.durationNanos = checkPositive(unit.toNanos(duration), "duration");
+		return this;
+	}
+
+	/**
+	 * 建立连接并压测一轮，结束后关闭连接和 EventLoopGroup
+	 */
+	public Result run() throws InterruptedException {
+		byte[] mixTable = mixTable();
+		String body = payload(payloadSize);
+		EventLoopGroup group = new NioEventLoopGroup(threads);
+		List<Connection> conns = new ArrayList<Connection>(connections);
+		try {
+			Bootstrap b = new Bootstrap();
+			b.group(group)
+			 .channel(NioSocketChannel.class)
+			 .option(ChannelOption.TCP_NODELAY, true)
+			 .handler(new ChannelInitializer<SocketChannel>() {
+				 @Override
+				 public void initChannel(SocketChannel ch) throws Exception {
+					 ProtocolClient.initPipeline(ch.pipeline());
+				 }
+			 });
+			for (int i = 0; i < connections; i++) {
+				conns.add(new Connection(b.connect(host, port).sync().channel(), mixTable, body));
+			}
+
+			long start = System.nanoTime();
+			long measureStart = start + warmupNanos;
+			long end = measureStart + durationNanos;
+			if (rate > 0) {
+				// 每个连接分担相同的速率，起始时间错开，避免所有连接同时发出
+				long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(connections) / rate);
+				for (int i = 0; i < connections; i++) {
+					conns.get(i).startOpenLoop(start + intervalNanos * i / connections, intervalNanos, measureStart, end);
+				}
+			} else {
+				for (Connection conn : conns) {
+					conn.startClosedLoop(concurrency, measureStart, end);
+				}
+			}
+
+			long drainDeadline = end + DRAIN_TIMEOUT_NANOS;
+			for (Connection conn : conns) {
+				conn.done.await(Math.max(0, drainDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+
+			Histogram corrected = new Histogram(SIGNIFICANT_DIGITS);
+			Histogram uncorrected = new Histogram(SIGNIFICANT_DIGITS);
+			long[] counts = new long[2];
+			for (Connection conn : conns) {
+				// 统计数据只在连接的 EventLoop 中访问
+				conn.channel.eventLoop().submit(() -> {
+					corrected.add(conn.histogram);
+					uncorrected.add(conn.uncorrected);
+					counts[0] += conn.completed;
+					counts[1] += conn.failed + conn.outstanding; // 未在限期内完成的也算失败
+				}).sync();
+			}
+			Histogram histogram = corrected;
+			if (rate == 0 && uncorrected.getTotalCount() > 0) {
+				histogram = uncorrected.copyCorrectedForCoordinatedOmission(uncorrected.getValueAtPercentile(50));
+			}
+			String mode = rate > 0 ? "open-loop rate=" + rate : "closed-loop concurrency=" + concurrency;
+			return new Result(mode, connections, counts[0], counts[1], durationNanos, histogram, uncorrected);
+		} finally {
+			for (Connection conn : conns) {
+				conn.channel.close();
+			}
+			group.shutdownGracefully().syncUninterruptibly();
+		}
+	}
+
+	/**
+	 * 按权重展开的消息类型表，随机取一项即按权重选择
+	 */
+	private byte[] mixTable() {
+		int[] effective = Arrays.stream(weights).sum() > 0 ? weights : ones(weights.length);
+		MsgType[] msgTypes = MsgType.values();
+		byte[] table = new byte[Arrays.stream(effective).sum()];
+		int index = 0;
+		for (int i = 0; i < msgTypes.length; i++) {
+			for (int j = 0; j < effective[i]; j++) {
+				table[index++] = msgTypes[i].getValue();
+			}
+		}
+		return table;
+	}
+
+	private static int[] ones(int length) {
+		int[] ones = new int[length];
+		Arrays.fill(ones, 1);
+		return ones;
+	}
+
+	/**
+	 * 指定字节数的 ASCII 消息体
+	 */
+	static String payload(int size) {
+		char[] chars = new char[size];
+		for (int i = 0; i < size; i++) {
+			chars[i] = (char) ('a' + i % 26);
+		}
+		return new String(chars);
+	}
+
+	private static int checkPositive(int value, String name) {
+		if (value <= 0) {
+			throw new IllegalArgumentException(name + ": " + value + " (expected: > 0)");
+		}
+		return value;
+	}
+
+	private static long checkPositive(long value, String name) {
+		if (value <= 0) {
+			throw new IllegalArgumentException(name + ": " + value + " (expected: > 0)");
+		}
+		return value;
+	}
+
+	/**
+	 * 一个连接的发压状态，除 done 外只在连接的 EventLoop 中访问
+	 */
+	private static final class Connection {
+		final Channel channel;
+		final ProtocolClientWindow window;
+		final byte[] mixTable;
+		final String body;
+		final Promise<Void> done;
+
+		final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS); // 从计划发出的时间算起
+		final Histogram uncorrected = new Histogram(SIGNIFICANT_DIGITS); // 从实际发出的时间算起
+		long completed;
+		long failed;
+		int outstanding;
+
+		private long measureStart;
+		private long end;
+		private boolean closedLoop;
+		private boolean stopped;
+		private long nextIntended;
+		private long intervalNanos;
+		private ScheduledFuture<?> tick;
+
+		Connection(Channel channel, byte[] mixTable, String body) {
+			this.channel = channel;
+			this.window = channel.pipeline().get(ProtocolClientWindow.class);
+			this.mixTable = mixTable;
+			this.body = body;
+			this.done = channel.eventLoop().newPromise();
+		}
+
+		void startOpenLoop(long first, long intervalNanos, long measureStart, long end) {
+			this.measureStart = measureStart;
+			this.end = end;
+			this.nextIntended = first;
+			this.intervalNanos = intervalNanos;
+			long tickNanos = Math.max(intervalNanos, MIN_TICK_NANOS);
+			tick = channel.eventLoop().scheduleAtFixedRate(this::tick,
+					Math.max(0, first - System.nanoTime()), tickNanos, TimeUnit.NANOSECONDS);
+		}
+
+		void startClosedLoop(int concurrency, long measureStart, long end) {
+			this.measureStart = measureStart;
+			this.end = end;
+			this.closedLoop = true;
+			channel.eventLoop().execute(() -> {
+				for (int i = 0; i < concurrency; i++) {
+					next();
+				}
+			});
+		}
+
+		/**
+		 * 发出所有已到计划时间的请求，定时任务被推迟时会一次补发
+		 */
+		private void tick() {
+			long now = System.nanoTime();
+			while (nextIntended <= now && nextIntended < end && channel.isActive()) {
+				send(nextIntended, now);
+				nextIntended += intervalNanos;
+			}
+			if (nextIntended >= end || !channel.isActive()) {
+				tick.cancel(false);
+				stop();
+			}
+		}
+
+		private void next() {
+			long now = System.nanoTime();
+			if (now >= end || !channel.isActive()) {
+				stop();
+				return;
+			}
+			send(now, now);
+		}
+
+		private void send(long intended, long issued) {
+			ProtocolMsg msg = ProtocolMsg.newInstance();
+			ProtocolHeader header = msg.getProtocolHeader();
+			header.setMagic((byte) 0x01);
+			header.setMsgType(mixTable[ThreadLocalRandom.current().nextInt(mixTable.length)]);
+			msg.setBody(body);
+			outstanding++;
+			window.request(msg).whenComplete((response, cause) -> {
+				long now = System.nanoTime();
+				outstanding--;
+				boolean measured = intended >= measureStart && intended < end;
+				if (cause == null) {
+					ReferenceCountUtil.release(response);
+					if (measured) {
+						completed++;
+						histogram.recordValue(now - intended);
+						uncorrected.recordValue(now - issued);
+					}
+				} else if (measured) {
+					failed++;
+				}
+				if (closedLoop) {
+					next();
+				} else {
+					checkDone();
+				}
+			});
+		}
+
+		private void stop() {
+			stopped = true;
+			checkDone();
+		}
+
+		private void checkDone() {
+			if (stopped && outstanding == 0) {
+				done.trySuccess(null);
+			}
+		}
+	}
+
+	/**
+	 * 一轮压测的结果，延迟单位为纳秒
+	 */
+	public static final class Result {
+		private final String mode;
+		private final int connections;
+		private final long completed;
+		private final long failed;
+		private final long durationNanos;
+		private final Histogram histogram;
+		private final Histogram uncorrected;
+
+		Result(String mode, int connections, long completed, long failed, long durationNanos,
+				Histogram histogram, Histogram uncorrected) {
+			this.mode = mode;
+			this.connections = connections;
+			this.completed = completed;
+			this.failed = failed;
+			this.durationNanos = durationNanos;
+			this.histogram = histogram;
+			this.uncorrected = uncorrected;
+		}
+
+		public long completed() {
+			return completed;
+		}
+
+		public long failed() {
+			return failed;
+		}
+
+		/**
+		 * 每秒完成的消息数
+		 */
+		public double throughput() {
+			return completed * 1e9 / durationNanos;
+		}
+
+		/**
+		 * 修正了协调遗漏的延迟分布
+		 */
+		public Histogram histogram() {
+			return histogram;
+		}
+
+		/**
+		 * 未修正的延迟分布
+		 */
+		public Histogram uncorrectedHistogram() {
+			return uncorrected;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s connections=%d msgs/s=%.0f completed=%d failed=%d%n%s%n%s",
+					mode, connections, throughput(), completed, failed,
+					percentiles("corrected  ", histogram), percentiles("uncorrected", uncorrected));
+		}
+
+		private static String percentiles(String name, Histogram histogram) {
+			return String.format("%s us: p50=%-10.1f p90=%-10.1f p99=%-10.1f p999=%-10.1f max=%.1f", name,
+					histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+					histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+					histogram.getMaxValue() / 1000.0);
+		}
+	}
+
+	/**
+	 * @param args
+	 * @throws InterruptedException
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		String host = args.length > 0 ? args[0] : "localhost";
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : 8082;
+
+		ProtocolLoadGenerator generator = new ProtocolLoadGenerator(host, port)
+				.connections(Integer.getInteger("protocol.load.connections", 100))
+				.threads(Integer.getInteger("protocol.load.threads", 0))
+				.payloadSize(Integer.getInteger("protocol.load.payload", 64))
+				.warmup(Integer.getInteger("protocol.load.warmup", 2), TimeUnit.SECONDS)
+				.duration(Integer.getInteger("protocol.load.seconds", 10), TimeUnit.SECONDS);
+		int rate = Integer.getInteger("protocol.load.rate", 0);
+		if (rate > 0) {
+			generator.openLoop(rate);
+		} else {
+			generator.closedLoop(Integer.getInteger("protocol.load.concurrency", 1));
+		}
+		String mix = System.getProperty("protocol.load.mix");
+		if (mix != null) {
+			for (String entry : mix.split(",")) {
+				String[] pair = entry.split(":");
+				generator.mix(MsgType.valueOf(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+			}
+		}
+
+		Result result = generator.run();
+		System.out.println(result);
+		// 以微秒输出修正后的完整分布
+		result.histogram().outputPercentileDistribution(System.out, 1000.0);
+	}
+
+}
@@ -1,38 +1,186 @@
 package com.waylau.netty.demo.protocol;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.CharsetUtil;
+import io.netty.util.Recycler;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+import io.netty.util.ResourceLeakTracker;
+
 /**
  * 说明：消息对象
  *
- * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月5日 
+ * 零拷贝模式下，消息体以 ByteBuf 切片的形式持有，直到首次调用 {@link #getBody()} 才解码为 String。
+ * 消息本身是引用计数对象，计数归零时释放所持有的 ByteBuf。
+ * 由 {@link #newInstance()} 取得的消息来自对象池，计数归零时连同消息头一起归还对象池。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月5日
  */
-public class ProtocolMsg {
-	 
+public class ProtocolMsg extends AbstractReferenceCounted {
+
+	private static final Recycler<ProtocolMsg> RECYCLER = new Recycler<ProtocolMsg>() {
+		@Override
+		protected ProtocolMsg newObject(Handle<ProtocolMsg> handle) {
+			return new ProtocolMsg(handle);
+		}
+	};
+
+	/**
+	 * 池化消息的泄漏检测，与 ByteBuf 一样受 io.netty.leakDetection.level 控制
+	 */
+	private static final ResourceLeakDetector<ProtocolMsg> LEAK_DETECTOR =
+			ResourceLeakDetectorFactory.instance().newResourceLeakDetector(ProtocolMsg.class);
+
+	private final Recycler.Handle<ProtocolMsg> handle; // 非池化的消息为 null
+	private ResourceLeakTracker<ProtocolMsg> leak;
+	ProtocolServerWindow window; // 把本消息计为在途请求的窗口，释放或作为响应写出时归还
+
 	private ProtocolHeader protocolHeader = new ProtocolHeader();
  	private String body;
- 	
+ 	private ByteBuf content; // 零拷贝模式下的消息体
+
 	public String getBody() {
+		if (body == null && content != null) {
+			body = content.toString(CharsetUtil.UTF_8); // 按需解码
+		}
 		return body;
 	}
 
+	/**
+	 * 设置消息体，同时释放已持有的 ByteBuf 消息体
+	 */
 	public void setBody(String body) {
 		this.body = body;
+		releaseContent();
 	}
 
+	/**
+	 * 零拷贝模式下的消息体，未持有时返回 null
+	 */
+	public ByteBuf content() {
+		return content;
+	}
+
+	/**
+	 * 设置 ByteBuf 消息体，消息接管该 ByteBuf 的一次引用
+	 */
+	public void setContent(ByteBuf content) {
+		releaseContent();
+		this.content = content;
+		this.body = null;
+	}
 
 	/**
-	 * 
+	 *
 	 */
 	public ProtocolMsg() {
-		// TODO Auto-generated constructor stub
+		this.handle = null;
+	}
+
+	private ProtocolMsg(Recycler.Handle<ProtocolMsg> handle) {
+		this.handle = handle;
+	}
+
+	/**
+	 * 从对象池取得一个消息，引用计数为 1，消息头各字段为 0。
+	 * 计数归零后消息及其消息头会被复用，调用方不可再持有它们的引用
+	 */
+	public static ProtocolMsg newInstance() {
+		return newInstance(LEAK_DETECTOR);
+	}
+
+	/**
+	 * 同 {@link #newInstance()}，由指定的检测器跟踪泄漏，供测试使用
+	 */
+	static ProtocolMsg newInstance(ResourceLeakDetector<ProtocolMsg> leakDetector) {
+		ProtocolMsg msg = RECYCLER.get();
+		msg.setRefCnt(1);
+		msg.leak = leakDetector.track(msg);
+		return msg;
+	}
+
+	/**
+	 * 是否来自对象池
+	 */
+	public boolean isPooled() {
+		return handle != null;
 	}
-	
+
 	public ProtocolHeader getProtocolHeader() {
 		return protocolHeader;
 	}
 
+	/**
+	 * 池化的消息复制 protocolHeader 的各字段到自带的消息头，不持有调用方的对象，
+	 * 否则归还对象池时会清零并复用调用方的消息头
+	 */
 	public void setProtocolHeader(ProtocolHeader protocolHeader) {
-		this.protocolHeader = protocolHeader;
+		if (handle == null || protocolHeader == null || this.protocolHeader == null) {
+			this.protocolHeader = protocolHeader;
+			return;
+		}
+		this.protocolHeader.setMagic(protocolHeader.getMagic());
+		this.protocolHeader.setMsgType(protocolHeader.getMsgType());
+		this.protocolHeader.setReserve(protocolHeader.getReserve());
+		this.protocolHeader.setSn(protocolHeader.getSn());
+		this.protocolHeader.setLen(protocolHeader.getLen());
+	}
+
+	@Override
+	public ProtocolMsg retain() {
+		super.retain();
+		if (leak != null) {
+			leak.record();
+		}
+		return this;
 	}
 
+	@Override
+	public ProtocolMsg touch(Object hint) {
+		if (leak != null) {
+			leak.record(hint);
+		}
+		if (content != null) {
+			content.touch(hint);
+		}
+		return this;
+	}
+
+	@Override
+	protected void deallocate() {
+		ProtocolServerWindow owner = window;
+		if (owner != null) {
+			// 请求未经写回就被释放（丢弃或另建了响应），归还窗口
+			window = null;
+			owner.complete();
+		}
+		releaseContent();
+		if (handle == null) {
+			return;
+		}
+		body = null;
+		if (protocolHeader == null) {
+			protocolHeader = new ProtocolHeader();
+		} else {
+			protocolHeader.setMagic((byte) 0);
+			protocolHeader.setMsgType((byte) 0);
+			protocolHeader.setReserve((short) 0);
+			protocolHeader.setSn((short) 0);
+			protocolHeader.setLen(0);
+		}
+		if (leak != null) {
+			leak.close(this);
+			leak = null;
+		}
+		handle.recycle(this); // 重复归还时 Recycler 会抛出 IllegalStateException
+	}
+
+	private void releaseContent() {
+		if (content != null) {
+			content.release();
+			content = null;
+		}
+	}
 
 }
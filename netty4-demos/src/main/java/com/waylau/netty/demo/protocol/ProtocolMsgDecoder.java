@@ -0,0 +1,110 @@
+package com.waylau.netty.demo.protocol;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.util.CharsetUtil;
+
+/**
+ * 说明：无状态的消息解码器，将完整的帧解析为 ProtocolMsg
+ *
+ * 只负责解析消息头和消息体，需放在 LengthFieldBasedFrameDecoder 之后。
+ * 解析过程只使用局部变量和绝对索引读取，不持有任何状态，所有 Channel 可共享同一个实例。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+@Sharable
+public class ProtocolMsgDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+	static final int HEADER_SIZE = 10;
+
+	// 消息头各字段相对帧起始位置的偏移量
+	static final int MAGIC_OFFSET = 0;
+	static final int MSG_TYPE_OFFSET = 1;
+	static final int RESERVE_OFFSET = 2;
+	static final int SN_OFFSET = 4;
+	static final int LEN_OFFSET = 6;
+
+	private final boolean zeroCopy; // 是否以 ByteBuf 切片作为消息体
+	private final Supplier<ProtocolMsg> msgFactory; // 创建 ProtocolMsg，池化或非池化
+
+	public ProtocolMsgDecoder() {
+		this(false);
+	}
+
+	/**
+	 * @param zeroCopy 为 true 时消息体直接引用帧的切片，不再拷贝为 String
+	 */
+	public ProtocolMsgDecoder(boolean zeroCopy) {
+		this(zeroCopy, false);
+	}
+
+	/**
+	 * @param zeroCopy 为 true 时消息体直接引用帧的切片，不再拷贝为 String
+	 * @param pooled 为 true 时消息来自对象池，见 {@link ProtocolMsg#newInstance()}
+	 */
+	public ProtocolMsgDecoder(boolean zeroCopy, boolean pooled) {
+		this(zeroCopy, msgFactory(pooled));
+	}
+
+	/**
+	 * @param msgFactory 为每个帧创建消息，测试时可由其指定泄漏检测器
+	 */
+	ProtocolMsgDecoder(boolean zeroCopy, Supplier<ProtocolMsg> msgFactory) {
+		this.zeroCopy = zeroCopy;
+		this.msgFactory = msgFactory;
+	}
+
+	static Supplier<ProtocolMsg> msgFactory(boolean pooled) {
+		return pooled ? ProtocolMsg::newInstance : ProtocolMsg::new;
+	}
+
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf frame,
+			List<Object> out) throws Exception {
+		ProtocolMsg msg = decodeFrame(frame, zeroCopy, msgFactory);
+		if (msg != null) {
+			out.add(msg);
+		}
+	}
+
+	/**
+	 * 解析一个完整的帧，不改变帧的读索引，也不释放帧。
+	 * 零拷贝模式下消息持有帧的 retainedSlice。
+	 *
+	 * @return 帧不完整时返回 null
+	 */
+	static ProtocolMsg decodeFrame(ByteBuf frame, boolean zeroCopy, Supplier<ProtocolMsg> msgFactory) {
+		int index = frame.readerIndex();
+		int readable = frame.readableBytes();
+		if (readable < HEADER_SIZE) {
+			return null; // response header is 10 bytes
+		}
+
+		int len = frame.getInt(index + LEN_OFFSET);
+		if (len < 0 || readable - HEADER_SIZE < len) {
+			return null; // until we have the entire payload return
+		}
+
+		// 直接填充消息自带的消息头，不再另外创建
+		ProtocolMsg msg = msgFactory.get();
+		ProtocolHeader header = msg.getProtocolHeader();
+		header.setMagic(frame.getByte(index + MAGIC_OFFSET));
+		header.setMsgType(frame.getByte(index + MSG_TYPE_OFFSET));
+		header.setReserve(frame.getShort(index + RESERVE_OFFSET));
+		header.setSn(frame.getShort(index + SN_OFFSET));
+		header.setLen(len);
+
+		int bodyIndex = index + HEADER_SIZE;
+		if (zeroCopy) {
+			msg.setContent(frame.retainedSlice(bodyIndex, len));
+		} else {
+			msg.setBody(frame.toString(bodyIndex, len, CharsetUtil.UTF_8));
+		}
+		return msg;
+	}
+}
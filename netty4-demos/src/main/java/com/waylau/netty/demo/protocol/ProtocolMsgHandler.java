@@ -0,0 +1,17 @@
+package com.waylau.netty.demo.protocol;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * 说明：某一消息类型的处理器，注册到 {@link ProtocolDispatcher}
+ *
+ * 处理器返回后 ProtocolDispatcher 会释放消息，需要在返回后继续使用消息（如原样写回）时应先 retain。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+@FunctionalInterface
+public interface ProtocolMsgHandler {
+
+	void handle(ChannelHandlerContext ctx, ProtocolMsg msg) throws Exception;
+
+}
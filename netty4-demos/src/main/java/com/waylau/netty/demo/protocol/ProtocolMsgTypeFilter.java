@@ -0,0 +1,40 @@
+package com.waylau.netty.demo.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * 说明：按消息类型过滤帧
+ *
+ * 放在 LengthFieldBasedFrameDecoder 与 ProtocolMsgDecoder 之间，用 {@link ProtocolHeaders}
+ * 直接读取帧中的消息类型，丢弃并释放不接受的帧，被丢弃的帧不会创建 ProtocolMsg。无状态，可共享。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+@Sharable
+public class ProtocolMsgTypeFilter extends ChannelInboundHandlerAdapter {
+
+	private final boolean[] accepted = new boolean[256]; // 按消息类型的无符号值索引
+
+	public ProtocolMsgTypeFilter(MsgType... msgTypes) {
+		for (MsgType msgType : msgTypes) {
+			accepted[msgType.getValue() & 0xFF] = true;
+		}
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (msg instanceof ByteBuf) {
+			ByteBuf frame = (ByteBuf) msg;
+			if (frame.readableBytes() >= ProtocolHeaders.HEADER_SIZE
+					&& !accepted[ProtocolHeaders.msgType(frame) & 0xFF]) {
+				frame.release();
+				return;
+			}
+		}
+		ctx.fireChannelRead(msg);
+	}
+
+}
@@ -3,14 +3,16 @@
  */
 package com.waylau.netty.demo.protocol;
 
+import com.waylau.netty.util.ServerBootstrapFactory;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
 /**
  * 说明：自定义协议服务端
@@ -26,6 +28,20 @@ public class ProtocolServer {
 	private static final int LENGTH_FIELD_OFFSET = 6;
 	private static final int LENGTH_ADJUSTMENT = 0;
 	private static final int INITIAL_BYTES_TO_STRIP = 0;
+
+	// -Dprotocol.pooled=true 时解码出的消息来自对象池，由处理器和编码器释放后归还
+	private static final boolean POOLED = Boolean.getBoolean("protocol.pooled");
+	// 每个连接最多在途的请求数，应与客户端一致
+	static final int WINDOW_SIZE = Integer.getInteger("protocol.window", 1024);
+	// -Dprotocol.compression=true 时压缩较大的消息体，两端需一致
+	static final boolean COMPRESSION = Boolean.getBoolean("protocol.compression");
+
+	private static final ProtocolMsgDecoder MSG_DECODER = new ProtocolMsgDecoder(false, POOLED);
+	private static final ProtocolEncoder ENCODER = new ProtocolEncoder();
+	private static final ProtocolServerHandler SERVER_HANDLER = new ProtocolServerHandler(); // 处理未注册的消息类型
+	private static final ProtocolDispatcher DISPATCHER = new ProtocolDispatcher()
+			.register(MsgType.EMGW_LOGIN_REQ, ProtocolServer::echo)
+			.register(MsgType.EMGW_LOGIN_RES, ProtocolServer::echo);
 	
 	/**
 	 * 
@@ -35,21 +51,29 @@ public class ProtocolServer {
 	}
 
 	 public void run() throws Exception {
-	        EventLoopGroup bossGroup = new NioEventLoopGroup(); // (1)
-	        EventLoopGroup workerGroup = new NioEventLoopGroup();
+	        // -Dnetty.transport=io_uring 时使用 io_uring，内核不支持时退回 epoll 或 NIO
+	        ServerBootstrapFactory factory = ServerBootstrapFactory.fromSystemProperties();
+	        EventLoopGroup bossGroup = factory.newBossGroup(); // (1)
+	        EventLoopGroup workerGroup = factory.newWorkerGroup();
 	        try {
-	            ServerBootstrap b = new ServerBootstrap(); // (2)
+	            ServerBootstrap b = factory.newServerBootstrap(); // (2)
 	            b.group(bossGroup, workerGroup)
-	             .channel(NioServerSocketChannel.class) // (3)
 	             .childHandler(new ChannelInitializer<SocketChannel>() { // (4)
 	                 @Override
 	                 public void initChannel(SocketChannel ch) throws Exception {
-	 					ch.pipeline().addLast("decoder",
-								new ProtocolDecoder(MAX_FRAME_LENGTH,
+	                     // 只有帧解码器需要按 Channel 创建，其余处理器无状态，所有 Channel 共享
+	 					ch.pipeline().addLast("frameDecoder",
+								new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH,
 										LENGTH_FIELD_OFFSET,LENGTH_FIELD_LENGTH, 
 										LENGTH_ADJUSTMENT, INITIAL_BYTES_TO_STRIP));
-	                     ch.pipeline().addLast("encoder", new ProtocolEncoder());
-	                     ch.pipeline().addLast(new ProtocolServerHandler());
+	 					if (COMPRESSION) {
+	 						ch.pipeline().addLast("compression", new ProtocolCompressionHandler());
+	 					}
+	 					ch.pipeline().addLast("decoder", MSG_DECODER);
+	                     ch.pipeline().addLast("encoder", ENCODER);
+	                     ch.pipeline().addLast("window", new ProtocolServerWindow(WINDOW_SIZE));
+	                     ch.pipeline().addLast("dispatcher", DISPATCHER);
+	                     ch.pipeline().addLast(SERVER_HANDLER);
 	                 }
 	             })
 	             .option(ChannelOption.SO_BACKLOG, 128)          // (5)
@@ -58,7 +82,7 @@ public class ProtocolServer {
 	            // 绑定端口，开始接收进来的连接
 	            ChannelFuture f = b.bind(port).sync(); // (7)
 	            
-	    		System.out.println("Server start listen at " + port );
+	    		System.out.println("Server start listen at " + port + " (" + factory.transport() + ")");
 	    		
 	            // 等待服务器  socket 关闭 。
 	            // 在这个例子中，这不会发生，但你可以优雅地关闭你的服务器。
@@ -70,6 +94,13 @@ public class ProtocolServer {
 	            bossGroup.shutdownGracefully();
 	        }
 	    }
+	/**
+	 * 原样写回消息
+	 */
+	private static void echo(ChannelHandlerContext ctx, ProtocolMsg msg) {
+		ctx.write(msg.retain()); // 编码器写出后会释放消息，而分发器在返回后也会释放一次
+	}
+
 	/**
 	 * @param args
 	 * @throws Exception 
@@ -1,6 +1,7 @@
 package com.waylau.netty.demo.protocol;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
@@ -9,6 +10,7 @@ import io.netty.channel.SimpleChannelInboundHandler;
  *
  * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月7日 
  */
+@Sharable
 public class ProtocolServerHandler extends SimpleChannelInboundHandler<Object> {
  
 
@@ -20,7 +22,7 @@ public class ProtocolServerHandler extends SimpleChannelInboundHandler<Object> {
 		if(obj instanceof ProtocolMsg) {
 			ProtocolMsg msg = (ProtocolMsg)obj;
 			System.out.println("Client->Server:"+incoming.remoteAddress()+msg.getBody());
-			incoming.write(obj);
+			incoming.write(msg.retain()); // 编码器写出后会释放消息，而本处理器返回后也会释放一次
 		}
 	}
 	
@@ -0,0 +1,85 @@
+package com.waylau.netty.demo.protocol;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * 说明：服务端按在途请求数的流量控制
+ *
+ * 放在编码器之后、业务处理器之前。每读入一个 ProtocolMsg 计为在途，该请求原样作为响应写出，
+ * 或引用计数归零（被丢弃、或处理器另建了响应对象）时减一，每个请求只归还一次；
+ * 在途数达到 windowSize 时暂停读取，降到一半时恢复。处理器可以乱序响应。
+ * 已读入同一批数据中的请求仍会处理，因此在途数可能短暂超过窗口。每个 Channel 需要独立的实例。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public class ProtocolServerWindow extends ChannelDuplexHandler {
+
+	private final int windowSize;
+	private ChannelHandlerContext ctx;
+	private int inFlight; // 只在 EventLoop 中访问
+	private boolean paused;
+
+	/**
+	 * @param windowSize 最多在途的请求数，与客户端的窗口一致
+	 */
+	public ProtocolServerWindow(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("windowSize: " + windowSize + " (expected: > 0)");
+		}
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * 在途（已读入未响应）的请求数
+	 */
+	public int inFlight() {
+		return inFlight;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) {
+		this.ctx = ctx;
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (msg instanceof ProtocolMsg) {
+			((ProtocolMsg) msg).window = this;
+			if (++inFlight >= windowSize && !paused) {
+				paused = true;
+				ctx.channel().config().setAutoRead(false);
+			}
+		}
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+		if (msg instanceof ProtocolMsg && ((ProtocolMsg) msg).window == this) {
+			((ProtocolMsg) msg).window = null;
+			complete();
+		}
+		ctx.write(msg, promise);
+	}
+
+	/**
+	 * 归还一个在途请求，可在任意线程调用
+	 */
+	void complete() {
+		if (ctx.executor().inEventLoop()) {
+			doComplete();
+		} else {
+			ctx.executor().execute(this::doComplete);
+		}
+	}
+
+	private void doComplete() {
+		if (inFlight > 0 && --inFlight <= windowSize / 2 && paused) {
+			paused = false;
+			ctx.channel().config().setAutoRead(true);
+		}
+	}
+
+}
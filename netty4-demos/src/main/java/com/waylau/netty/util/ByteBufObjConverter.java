@@ -0,0 +1,281 @@
+package com.waylau.netty.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 说明：基于 ByteBuf 的 Java 对象序列化工具，用于替代 {@link ByteObjConverter}
+ *
+ * 每个连接（或每个导出文件）使用一个实例，在多次调用之间复用同一对对象流：
+ * 不再为每个对象新建 ByteArrayOutputStream 和 ObjectOutputStream，也不再生成中间的 byte[]。
+ * 类描述符在首次出现时写入类名并分配编号，之后同一个类只写编号，读写两端按相同的顺序维护编号表。
+ * 因此同一实例写出的数据必须由另一个实例按写出顺序读取。
+ * 序列化失败时抛出异常而不是返回 null；写入失败会撤销本次新分配的编号，读取失败后两端编号可能不再一致，应关闭连接。
+ * 读取时只加载构造时允许的类型及其父类、非 transient 字段的类型（递归），其余类名在加载之前就被拒绝；
+ * 字段声明为接口、抽象类或 Object 时，实际的类需另行允许。
+ * 实例不是线程安全的。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public class ByteBufObjConverter {
+
+	private final ClassLoader classLoader;
+	private final Set<String> allowed = new HashSet<String>();
+
+	private final ByteBufSink sink = new ByteBufSink();
+	private final ByteBufSource source = new ByteBufSource();
+	private DescriptorOutputStream oos;
+	private DescriptorInputStream ois;
+
+	/**
+	 * 写出端：类名 -> 编号
+	 */
+	private final Map<String, Integer> writtenClasses = new HashMap<String, Integer>();
+	/**
+	 * 读取端：编号 -> 类描述符
+	 */
+	private final List<ObjectStreamClass> readClasses = new ArrayList<ObjectStreamClass>();
+
+	/**
+	 * @param allowedTypes 读取时允许出现的类型，只用于写出时可以不传
+	 */
+	public ByteBufObjConverter(Class<?>... allowedTypes) {
+		this(ByteBufObjConverter.class.getClassLoader(), allowedTypes);
+	}
+
+	/**
+	 * @param classLoader 读取时用于加载类
+	 * @param allowedTypes 读取时允许出现的类型
+	 */
+	public ByteBufObjConverter(ClassLoader classLoader, Class<?>... allowedTypes) {
+		this.classLoader = classLoader;
+		for (Class<?> allowedType : allowedTypes) {
+			allow(allowedType);
+		}
+	}
+
+	private void allow(Class<?> clazz) {
+		while (clazz.isArray()) {
+			clazz = clazz.getComponentType();
+		}
+		if (clazz.isPrimitive() || allowed.contains(clazz.getName())) {
+			return;
+		}
+		for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+			if (!allowed.add(c.getName())) {
+				return;
+			}
+			for (Field field : c.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+					allow(field.getType());
+				}
+			}
+		}
+	}
+
+	/**
+	 * 按类名检查，不在允许列表中的类不会被加载，也就不会执行其静态初始化
+	 */
+	private Class<?> loadClass(String name) throws IOException, ClassNotFoundException {
+		String componentName = name;
+		int dimensions = 0;
+		while (componentName.charAt(dimensions) == '[') {
+			dimensions++;
+		}
+		if (dimensions > 0) {
+			// 数组描述符：[I、[[Ljava.lang.String; 等
+			componentName = componentName.charAt(dimensions) == 'L'
+					? componentName.substring(dimensions + 1, componentName.length() - 1) : null;
+		}
+		if (componentName != null && !allowed.contains(componentName)) {
+			throw new InvalidClassException(name, "not allowed");
+		}
+		return Class.forName(name, false, classLoader);
+	}
+
+	/**
+	 * 把对象序列化后写入 out
+	 *
+	 * @throws IOException 对象无法序列化
+	 */
+	public void writeObject(Object obj, ByteBuf out) throws IOException {
+		int knownClasses = writtenClasses.size();
+		int writerIndex = out.writerIndex();
+		sink.target = out;
+		try {
+			if (oos == null) {
+				oos = new DescriptorOutputStream(sink);
+			}
+			// 每个对象之前都重置引用表（保留类描述符编号），使每个对象都能独立读取
+			oos.reset();
+			oos.writeObject(obj);
+			oos.flush();
+		} catch (IOException | RuntimeException e) {
+			// 撤销本次写入的数据及新分配的编号，对端不会收到它们
+			out.writerIndex(writerIndex);
+			if (writtenClasses.size() > knownClasses) {
+				writtenClasses.values().removeIf(id -> id >= knownClasses);
+			}
+			oos = null;
+			throw e;
+		} finally {
+			sink.target = null;
+		}
+	}
+
+	/**
+	 * 从 in 中读取一个对象
+	 *
+	 * @throws IOException 数据损坏，或对象的类不在允许列表中
+	 * @throws ClassNotFoundException 找不到对象的类
+	 */
+	public Object readObject(ByteBuf in) throws IOException, ClassNotFoundException {
+		source.source = in;
+		try {
+			if (ois == null) {
+				ois = new DescriptorInputStream(source);
+			}
+			return ois.readObject();
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			ois = null;
+			throw e;
+		} finally {
+			source.source = null;
+		}
+	}
+
+	/**
+	 * 不写流头，类描述符按编号写出
+	 */
+	private final class DescriptorOutputStream extends ObjectOutputStream {
+
+		DescriptorOutputStream(OutputStream out) throws IOException {
+			super(out);
+		}
+
+		@Override
+		protected void writeStreamHeader() {
+			// 两端复用同一个流，无需流头
+		}
+
+		@Override
+		protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+			Integer id = writtenClasses.get(desc.getName());
+			if (id != null) {
+				writeInt(id);
+				return;
+			}
+			int newId = writtenClasses.size();
+			writtenClasses.put(desc.getName(), newId);
+			writeInt(-newId - 1); // 负数表示首次出现，后面跟类名
+			writeUTF(desc.getName());
+		}
+	}
+
+	/**
+	 * 与 {@link DescriptorOutputStream} 对应，按编号查找类描述符
+	 */
+	private final class DescriptorInputStream extends ObjectInputStream {
+
+		DescriptorInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected void readStreamHeader() {
+			// 两端复用同一个流，无需流头
+		}
+
+		@Override
+		protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+			int id = readInt();
+			if (id >= 0) {
+				if (id >= readClasses.size()) {
+					throw new IOException("unknown class descriptor id: " + id);
+				}
+				return readClasses.get(id);
+			}
+			int newId = -id - 1;
+			if (newId != readClasses.size()) {
+				throw new IOException("unexpected class descriptor id: " + newId);
+			}
+			ObjectStreamClass desc = ObjectStreamClass.lookupAny(loadClass(readUTF()));
+			readClasses.add(desc);
+			return desc;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			return loadClass(desc.getName());
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+			throw new InvalidClassException("proxy", "not allowed");
+		}
+	}
+
+	/**
+	 * 把对象流的数据写入当前的目标 ByteBuf
+	 */
+	private static final class ByteBufSink extends OutputStream {
+		private ByteBuf target;
+
+		@Override
+		public void write(int b) {
+			target.writeByte(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			target.writeBytes(b, off, len);
+		}
+	}
+
+	/**
+	 * 从当前的源 ByteBuf 读取数据
+	 */
+	private static final class ByteBufSource extends InputStream {
+		private ByteBuf source;
+
+		@Override
+		public int read() {
+			return source.isReadable() ? source.readUnsignedByte() : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			int readable = source.readableBytes();
+			if (len == 0) {
+				return 0;
+			}
+			if (readable == 0) {
+				return -1;
+			}
+			int n = Math.min(len, readable);
+			source.readBytes(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return source.readableBytes();
+		}
+	}
+}
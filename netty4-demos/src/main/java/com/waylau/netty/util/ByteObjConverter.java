@@ -13,7 +13,9 @@ import java.io.ObjectOutputStream;
  * 说明：
  *
  * @author <a href="http://www.waylau.com">waylau.com</a> 2015年11月9日 
+ * @deprecated 每次调用都创建新的对象流并吞掉异常，请使用 {@link ByteBufObjConverter}
  */
+@Deprecated
 public class ByteObjConverter {
 
 	public static Object ByteToObject(byte[] bytes) {  
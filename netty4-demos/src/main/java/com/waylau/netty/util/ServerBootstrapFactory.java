@@ -0,0 +1,226 @@
+package com.waylau.netty.util;
+
+import java.util.Properties;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * 说明：各服务端共用的 ServerBootstrap 工厂
+ *
+ * 按配置选择传输方式（默认可用时用 epoll，否则用 NIO；所选方式不被当前平台支持时同样退回 epoll 或 NIO）
+ * 和 boss/worker 线程数，
+ * 创建的 ServerBootstrap 已设置 Channel 类型、池化的内存分配器以及统一调优过的子 Channel 选项：
+ * TCP_NODELAY、SO_RCVBUF/SO_SNDBUF、WRITE_BUFFER_WATER_MARK。
+ * EventLoopGroup 需由同一个工厂创建，与 Channel 类型一致。
+ *
+ * 可用的系统属性（括号内为默认值）：
+ * <pre>
+ * netty.transport           auto | epoll | io_uring | nio（auto）
+ * netty.boss.threads        （1，服务端只监听一个端口时一个线程足够）
+ * netty.worker.threads      （0，即 Netty 默认的 CPU 核数 × 2）
+ * netty.tcp.nodelay         （true）
+ * netty.so.rcvbuf           （0，即不设置，保留操作系统的自动调整）
+ * netty.so.sndbuf           （0，同上）
+ * netty.write.buffer.low    （32768）
+ * netty.write.buffer.high   （65536）
+ * </pre>
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public final class ServerBootstrapFactory {
+
+	public static final int DEFAULT_WRITE_BUFFER_LOW = 32 * 1024;
+	public static final int DEFAULT_WRITE_BUFFER_HIGH = 64 * 1024;
+
+	private static final InternalLogger logger = InternalLoggerFactory.getInstance(ServerBootstrapFactory.class);
+
+	private final Transport transport;
+	private final int bossThreads;
+	private final int workerThreads;
+	private final boolean tcpNoDelay;
+	private final int receiveBufferSize;
+	private final int sendBufferSize;
+	private final WriteBufferWaterMark writeBufferWaterMark;
+	private final ByteBufAllocator allocator;
+
+	private ServerBootstrapFactory(Builder builder) {
+		this.transport = builder.transport.orBest();
+		if (transport != builder.transport) {
+			logger.warn("{} is not available, falling back to {}", builder.transport, transport);
+		}
+		this.bossThreads = builder.bossThreads;
+		this.workerThreads = builder.workerThreads;
+		this.tcpNoDelay = builder.tcpNoDelay;
+		this.receiveBufferSize = builder.receiveBufferSize;
+		this.sendBufferSize = builder.sendBufferSize;
+		this.writeBufferWaterMark = new WriteBufferWaterMark(builder.writeBufferLow, builder.writeBufferHigh);
+		this.allocator = builder.allocator;
+	}
+
+	/**
+	 * 按系统属性创建
+	 */
+	public static ServerBootstrapFactory fromSystemProperties() {
+		return builder(System.getProperties()).build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * 以 properties 中的配置为初始值
+	 */
+	public static Builder builder(Properties properties) {
+		Builder builder = new Builder();
+		builder.transport(Transport.of(properties.getProperty("netty.transport")));
+		builder.bossThreads(intProperty(properties, "netty.boss.threads", builder.bossThreads));
+		builder.workerThreads(intProperty(properties, "netty.worker.threads", builder.workerThreads));
+		builder.tcpNoDelay(Boolean.parseBoolean(properties.getProperty("netty.tcp.nodelay", "true")));
+		builder.receiveBufferSize(intProperty(properties, "netty.so.rcvbuf", builder.receiveBufferSize));
+		builder.sendBufferSize(intProperty(properties, "netty.so.sndbuf", builder.sendBufferSize));
+		builder.writeBufferWaterMark(intProperty(properties, "netty.write.buffer.low", builder.writeBufferLow),
+				intProperty(properties, "netty.write.buffer.high", builder.writeBufferHigh));
+		return builder;
+	}
+
+	private static int intProperty(Properties properties, String key, int defaultValue) {
+		String value = properties.getProperty(key);
+		return value == null ? defaultValue : Integer.parseInt(value.trim());
+	}
+
+	public Transport transport() {
+		return transport;
+	}
+
+	public EventLoopGroup newBossGroup() {
+		return transport.newEventLoopGroup(bossThreads);
+	}
+
+	public EventLoopGroup newWorkerGroup() {
+		return transport.newEventLoopGroup(workerThreads);
+	}
+
+	/**
+	 * 创建已设置 Channel 类型和调优选项的 ServerBootstrap，调用方再设置 group、处理器及各自的选项
+	 */
+	public ServerBootstrap newServerBootstrap() {
+		ServerBootstrap b = new ServerBootstrap();
+		b.channel(transport.serverChannelClass())
+		 .option(ChannelOption.ALLOCATOR, allocator)
+		 .childOption(ChannelOption.ALLOCATOR, allocator)
+		 .childOption(ChannelOption.TCP_NODELAY, tcpNoDelay)
+		 .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
+		// 固定缓冲区大小会关闭 Linux 对该连接的自动调整，只在明确配置时设置
+		if (receiveBufferSize > 0) {
+			b.childOption(ChannelOption.SO_RCVBUF, receiveBufferSize);
+		}
+		if (sendBufferSize > 0) {
+			b.childOption(ChannelOption.SO_SNDBUF, sendBufferSize);
+		}
+		return b;
+	}
+
+	@Override
+	public String toString() {
+		return "ServerBootstrapFactory(transport=" + transport + ", bossThreads=" + bossThreads
+				+ ", workerThreads=" + workerThreads + ", tcpNoDelay=" + tcpNoDelay
+				+ ", rcvbuf=" + receiveBufferSize + ", sndbuf=" + sendBufferSize
+				+ ", writeBufferWaterMark=" + writeBufferWaterMark + ")";
+	}
+
+	public static final class Builder {
+		private Transport transport = Transport.best();
+		private int bossThreads = 1;
+		private int workerThreads;
+		private boolean tcpNoDelay = true;
+		private int receiveBufferSize;
+		private int sendBufferSize;
+		private int writeBufferLow = DEFAULT_WRITE_BUFFER_LOW;
+		private int writeBufferHigh = DEFAULT_WRITE_BUFFER_HIGH;
+		private ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+		private Builder() {
+		}
+
+		public Builder transport(Transport transport) {
+			if (transport == null) {
+				throw new NullPointerException("transport");
+			}
+			this.transport = transport;
+			return this;
+		}
+
+		/**
+		 * @param bossThreads 0 表示使用 Netty 的默认值
+		 */
+		public Builder bossThreads(int bossThreads) {
+			this.bossThreads = checkNotNegative(bossThreads, "bossThreads");
+			return this;
+		}
+
+		/**
+		 * @param workerThreads 0 表示使用 Netty 的默认值
+		 */
+		public Builder workerThreads(int workerThreads) {
+			this.workerThreads = checkNotNegative(workerThreads, "workerThreads");
+			return this;
+		}
+
+		public Builder tcpNoDelay(boolean tcpNoDelay) {
+			this.tcpNoDelay = tcpNoDelay;
+			return this;
+		}
+
+		/**
+		 * @param receiveBufferSize 0 表示不设置
+		 */
+		public Builder receiveBufferSize(int receiveBufferSize) {
+			this.receiveBufferSize = checkNotNegative(receiveBufferSize, "receiveBufferSize");
+			return this;
+		}
+
+		/**
+		 * @param sendBufferSize 0 表示不设置
+		 */
+		public Builder sendBufferSize(int sendBufferSize) {
+			this.sendBufferSize = checkNotNegative(sendBufferSize, "sendBufferSize");
+			return this;
+		}
+
+		public Builder writeBufferWaterMark(int low, int high) {
+			// 由 WriteBufferWaterMark 的构造器校验
+			new WriteBufferWaterMark(low, high);
+			this.writeBufferLow = low;
+			this.writeBufferHigh = high;
+			return this;
+		}
+
+		public Builder allocator(ByteBufAllocator allocator) {
+			if (allocator == null) {
+				throw new NullPointerException("allocator");
+			}
+			this.allocator = allocator;
+			return this;
+		}
+
+		public ServerBootstrapFactory build() {
+			return new ServerBootstrapFactory(this);
+		}
+
+		private static int checkNotNegative(int value, String name) {
+			if (value < 0) {
+				throw new IllegalArgumentException(name + ": " + value + " (expected: >= 0)");
+			}
+			return value;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.waylau.netty.util;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+
+/**
+ * 说明：TCP 传输方式，决定 EventLoopGroup 和 Channel 的实现类
+ *
+ * 同一个 Bootstrap 中的 EventLoopGroup 与 Channel 必须来自同一种传输方式。
+ * 已废弃的阻塞 IO（OIO）不在此列，需要时像 OioEchoServer 那样直接使用 Oio* 类。
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public enum Transport {
+
+	/**
+	 * Linux 原生 epoll，需要加载 netty 自带的本地库
+	 */
+	EPOLL {
+		@Override
+		public boolean isAvailable() {
+			return Epoll.isAvailable();
+		}
+
+		@Override
+		public EventLoopGroup newEventLoopGroup(int threads) {
+			return new EpollEventLoopGroup(threads);
+		}
+
+		@Override
+		public Class<? extends ServerChannel> serverChannelClass() {
+			return EpollServerSocketChannel.class;
+		}
+
+		@Override
+		public Class<? extends SocketChannel> socketChannelClass() {
+			return EpollSocketChannel.class;
+		}
+	},
+
+	/**
+	 * Linux io_uring（内核 5.9 以上），使用 netty-incubator-transport-native-io_uring，只在明确选择时使用
+	 */
+	IO_URING {
+		@Override
+		public boolean isAvailable() {
+			try {
+				return IOUring.isAvailable();
+			} catch (LinkageError e) {
+				// 缺少 incubator 模块
+				return false;
+			}
+		}
+
+		@Override
+		public EventLoopGroup newEventLoopGroup(int threads) {
+			return new IOUringEventLoopGroup(threads);
+		}
+
+		@Override
+		public Class<? extends ServerChannel> serverChannelClass() {
+			return IOUringServerSocketChannel.class;
+		}
+
+		@Override
+		public Class<? extends SocketChannel> socketChannelClass() {
+			return IOUringSocketChannel.class;
+		}
+	},
+
+	/**
+	 * JDK NIO，所有平台可用
+	 */
+	NIO {
+		@Override
+		public EventLoopGroup newEventLoopGroup(int threads) {
+			return new NioEventLoopGroup(threads);
+		}
+
+		@Override
+		public Class<? extends ServerChannel> serverChannelClass() {
+			return NioServerSocketChannel.class;
+		}
+
+		@Override
+		public Class<? extends SocketChannel> socketChannelClass() {
+			return NioSocketChannel.class;
+		}
+	};
+
+	/**
+	 * 当前平台是否支持
+	 */
+	public boolean isAvailable() {
+		return true;
+	}
+
+	/**
+	 * @param threads 线程数，0 表示使用 Netty 的默认值
+	 */
+	public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+	public abstract Class<? extends ServerChannel> serverChannelClass();
+
+	public abstract Class<? extends SocketChannel> socketChannelClass();
+
+	/**
+	 * 可用时选 epoll，否则选 NIO
+	 */
+	public static Transport best() {
+		return EPOLL.isAvailable() ? EPOLL : NIO;
+	}
+
+	/**
+	 * 当前平台不支持时退回 {@link #best()}
+	 */
+	public Transport orBest() {
+		return isAvailable() ? this : best();
+	}
+
+	/**
+	 * 按名称（不区分大小写）选择传输方式，"auto" 或 null 时等同 {@link #best()}
+	 */
+	public static Transport of(String name) {
+		if (name == null || "auto".equalsIgnoreCase(name)) {
+			return best();
+		}
+		return valueOf(name.trim().toUpperCase());
+	}
+
+}
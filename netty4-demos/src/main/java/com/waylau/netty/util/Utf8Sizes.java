@@ -0,0 +1,30 @@
+package com.waylau.netty.util;
+
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * 说明：编码前估算字符串的 UTF-8 长度，用于按需分配缓冲区
+ *
+ * @author <a href="http://www.waylau.com">waylau.com</a> 2026年10月18日
+ */
+public final class Utf8Sizes {
+
+	/**
+	 * 超过该字符数时精确计算编码长度
+	 */
+	public static final int EXACT_SIZE_THRESHOLD = 1024;
+
+	private Utf8Sizes() {
+	}
+
+	/**
+	 * 短字符串直接取 UTF-8 编码长度的上限，避免额外扫描；长字符串则精确计算，避免成倍多分配内存。
+	 * 返回值不小于实际编码长度
+	 */
+	public static int estimate(CharSequence s) {
+		if (s.length() <= EXACT_SIZE_THRESHOLD) {
+			return ByteBufUtil.utf8MaxBytes(s);
+		}
+		return ByteBufUtil.utf8Bytes(s);
+	}
+}
@@ -0,0 +1,166 @@
+package com.waylau.netty.demo.codec.jackcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.CharsetUtil;
+
+/**
+ * JacksonDecoder Test.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class JacksonDecoderTest {
+
+	private static JacksonBean newBean(int sonCount) {
+		JacksonBean bean = new JacksonBean();
+		bean.setAge(27);
+		bean.setName("waylau");
+		List<String> sons = new ArrayList<>();
+		for (int i = 0; i < sonCount; i++) {
+			sons.add("Lucy" + i);
+		}
+		bean.setSons(sons);
+		Map<String, String> addrs = new HashMap<>();
+		addrs.put("0010", "18998366112");
+		bean.setAddrs(addrs);
+		return bean;
+	}
+
+	private static ByteBuf encode(Object msg) {
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonEncoder());
+		assertTrue(channel.writeOutbound(msg));
+		ByteBuf out = channel.readOutbound();
+		assertFalse(channel.finish());
+		return out;
+	}
+
+	private static ByteBuf frame(String json) {
+		byte[] bytes = json.getBytes(CharsetUtil.UTF_8);
+		return Unpooled.buffer().writeInt(bytes.length).writeBytes(bytes);
+	}
+
+	private static void assertBean(JacksonBean expected, JacksonBean actual) {
+		assertEquals(expected.getAge(), actual.getAge());
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getSons(), actual.getSons());
+		assertEquals(expected.getAddrs(), actual.getAddrs());
+	}
+
+	@Test
+	void testRoundTrip() {
+		JacksonBean bean = newBean(3);
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class));
+		assertTrue(channel.writeInbound(encode(bean)));
+		assertBean(bean, channel.readInbound());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testLargeDocumentParsedIncrementally() {
+		JacksonBean bean = newBean(10000);
+		ByteBuf encoded = encode(bean);
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class));
+
+		// 分成许多小包到达，每个包都被立即消费，解码器不持有它们
+		while (encoded.readableBytes() > 0) {
+			ByteBuf packet = encoded.readRetainedSlice(Math.min(1000, encoded.readableBytes()));
+			channel.writeInbound(packet);
+			assertEquals(0, packet.refCnt());
+		}
+		encoded.release();
+
+		assertBean(bean, channel.readInbound());
+		assertNull(channel.readInbound());
+		assertFalse(channel.finish());
+	}
+
+	@ParameterizedTest
+	@EnumSource(JacksonFormat.class)
+	void testFormatsFragmented(JacksonFormat format) {
+		JacksonBean bean = newBean(1000);
+		EmbeddedChannel encoder = new EmbeddedChannel(new JacksonEncoder(format));
+		assertTrue(encoder.writeOutbound(bean));
+		ByteBuf encoded = encoder.readOutbound();
+		assertFalse(encoder.finish());
+
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class, format));
+		while (encoded.readableBytes() > 0) {
+			channel.writeInbound(encoded.readRetainedSlice(Math.min(100, encoded.readableBytes())));
+		}
+		encoded.release();
+		assertBean(bean, channel.readInbound());
+		assertNull(channel.readInbound());
+		assertFalse(channel.finish());
+	}
+
+	@ParameterizedTest
+	@EnumSource(JacksonFormat.class)
+	void testMultipleFramesInDirectBuffer(JacksonFormat format) {
+		JacksonBean first = newBean(1);
+		JacksonBean second = newBean(2);
+		EmbeddedChannel encoder = new EmbeddedChannel(new JacksonEncoder(format));
+		encoder.writeOutbound(first, second);
+		ByteBuf input = Unpooled.directBuffer();
+		ByteBuf a = encoder.readOutbound();
+		ByteBuf b = encoder.readOutbound();
+		input.writeBytes(a).writeBytes(b);
+		a.release();
+		b.release();
+		assertFalse(encoder.finish());
+
+		// 两帧在同一个缓冲区中到达，Smile 的每一帧都带有文档头
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class, format));
+		assertTrue(channel.writeInbound(input));
+		assertBean(first, channel.readInbound());
+		assertBean(second, channel.readInbound());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testTooLongFrameDiscarded() {
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class, 64));
+
+		StringBuilder big = new StringBuilder("\"");
+		for (int i = 0; i < 100; i++) {
+			big.append('x');
+		}
+		big.append('"');
+		assertThrows(TooLongFrameException.class, () -> channel.writeInbound(frame(big.toString())));
+
+		// 超长的帧被跳过，后续的帧正常解码
+		ByteBuf small = frame("{\"age\":1}");
+		assertTrue(channel.writeInbound(small));
+		assertEquals(1, ((JacksonBean) channel.readInbound()).getAge());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testMalformedFrameSkipped() {
+		EmbeddedChannel channel = new EmbeddedChannel(new JacksonDecoder<>(JacksonBean.class));
+		assertThrows(DecoderException.class, () -> channel.writeInbound(frame("{\"age\":}")));
+		assertThrows(DecoderException.class, () -> channel.writeInbound(frame("{\"age\":1")));
+
+		assertTrue(channel.writeInbound(frame("{\"age\":2}")));
+		assertEquals(2, ((JacksonBean) channel.readInbound()).getAge());
+		assertFalse(channel.finish());
+	}
+}
@@ -0,0 +1,69 @@
+package com.waylau.netty.demo.codec.jackcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+
+/**
+ * JacksonEncoder Test.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class JacksonEncoderTest {
+
+	private static JacksonBean newBean(int sonCount) {
+		JacksonBean bean = new JacksonBean();
+		bean.setAge(27);
+		bean.setName("waylau");
+		List<String> sons = new ArrayList<>();
+		for (int i = 0; i < sonCount; i++) {
+			sons.add("Lucy" + i);
+		}
+		bean.setSons(sons);
+		return bean;
+	}
+
+	private static ByteBuf encode(Object msg) {
+		return encode(new JacksonEncoder(), msg);
+	}
+
+	private static ByteBuf encode(JacksonEncoder encoder, Object msg) {
+		EmbeddedChannel channel = new EmbeddedChannel(encoder);
+		channel.config().setAllocator(UnpooledByteBufAllocator.DEFAULT);
+		assertTrue(channel.writeOutbound(msg));
+		ByteBuf out = channel.readOutbound();
+		assertFalse(channel.finish());
+		return out;
+	}
+
+	@Test
+	void testFrameMatchesObjectMapper() throws Exception {
+		JacksonBean bean = newBean(3);
+		ByteBuf out = encode(bean);
+		String expected = JacksonMapper.getInstance().writeValueAsString(bean);
+		assertEquals(out.readableBytes() - 4, out.readInt());
+		assertEquals(expected, out.toString(CharsetUtil.UTF_8));
+		out.release();
+	}
+
+	@Test
+	void testBufferSizedFromPreviousMessage() {
+		// 第一次编码后记住大小，同样大小的消息一次分配到位
+		JacksonEncoder encoder = new JacksonEncoder();
+		encode(encoder, newBean(1000)).release();
+		ByteBuf out = encode(encoder, newBean(1000));
+		assertEquals(out.readableBytes(), out.capacity());
+		out.release();
+	}
+}
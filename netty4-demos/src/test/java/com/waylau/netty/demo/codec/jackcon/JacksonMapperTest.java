@@ -0,0 +1,40 @@
+package com.waylau.netty.demo.codec.jackcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JacksonMapper Test.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class JacksonMapperTest {
+
+	@Test
+	void testReadersAndWritersCached() {
+		assertSame(JacksonMapper.readerFor(JacksonBean.class), JacksonMapper.readerFor(JacksonBean.class));
+		assertSame(JacksonMapper.writerFor(JacksonBean.class), JacksonMapper.writerFor(JacksonBean.class));
+	}
+
+	@Test
+	void testAfterburnerProducesSameJson() throws Exception {
+		JacksonBean bean = new JacksonBean();
+		bean.setAge(27);
+		bean.setName("waylau");
+		bean.setSons(Collections.singletonList("Lucy"));
+		ObjectMapper afterburner = JacksonMapper.newMapper(true);
+
+		String json = afterburner.writeValueAsString(bean);
+		assertEquals(JacksonMapper.getInstance().writeValueAsString(bean), json);
+		JacksonBean read = afterburner.readValue(json, JacksonBean.class);
+		assertEquals(bean.getName(), read.getName());
+		assertEquals(bean.getSons(), read.getSons());
+	}
+}
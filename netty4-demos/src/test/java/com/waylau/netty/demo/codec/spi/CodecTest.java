@@ -0,0 +1,104 @@
+package com.waylau.netty.demo.codec.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.waylau.netty.demo.codec.serialization.SerializationBean;
+import com.waylau.netty.demo.codec.serialization.SerializationBeanCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Codec Test.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class CodecTest {
+
+	private static SerializationBean newBean(int age, String name) {
+		SerializationBean bean = new SerializationBean();
+		bean.setAge(age);
+		bean.setName(name);
+		return bean;
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { Codecs.JDK, Codecs.KRYO, Codecs.JACKSON, Codecs.SCHEMA, Codecs.COMPILED })
+	void testRoundTripFragmented(String name) {
+		Codec<SerializationBean> codec = Codecs.of(name, SerializationBean.class, new SerializationBeanCodec());
+		EmbeddedChannel encoder = new EmbeddedChannel(new CodecEncoder<>(codec));
+		assertTrue(encoder.writeOutbound(newBean(1, "waylau"), newBean(2, null), newBean(3, "床前明月光")));
+
+		EmbeddedChannel decoder = new EmbeddedChannel(new CodecDecoder<>(codec, 1024));
+		ByteBuf encoded;
+		while ((encoded = encoder.readOutbound()) != null) {
+			// 每个字节单独到达
+			while (encoded.isReadable()) {
+				decoder.writeInbound(encoded.readRetainedSlice(1));
+			}
+			encoded.release();
+		}
+
+		SerializationBean first = decoder.readInbound();
+		SerializationBean second = decoder.readInbound();
+		SerializationBean third = decoder.readInbound();
+		assertNull(decoder.readInbound());
+		assertEquals("waylau", first.getName());
+		assertEquals(2, second.getAge());
+		assertNull(second.getName());
+		assertEquals(3, third.getAge());
+		assertEquals("床前明月光", third.getName());
+		assertFalse(encoder.finish());
+		assertFalse(decoder.finish());
+	}
+
+	@Test
+	void testSelection() {
+		assertTrue(Codecs.fromSystemProperty(SerializationBean.class, new SerializationBeanCodec())
+				instanceof SerializationBeanCodec);
+		assertTrue(Codecs.fromSystemProperty(SerializationBean.class, null) instanceof KryoCodec);
+		assertThrows(IllegalArgumentException.class, () -> Codecs.of(Codecs.SCHEMA, SerializationBean.class, null));
+		assertThrows(IllegalArgumentException.class, () -> Codecs.of("xml", SerializationBean.class, null));
+	}
+
+	@Test
+	void testJdkCodecRejectsUnexpectedClasses() throws Exception {
+		ByteBuf buf = Unpooled.buffer();
+		try (ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(buf))) {
+			oos.writeObject(new Date());
+		}
+		JdkCodec<SerializationBean> codec = new JdkCodec<>(SerializationBean.class);
+		assertThrows(InvalidClassException.class, () -> codec.decode(buf));
+		buf.release();
+
+		// 集合的实现类需另行允许
+		List<SerializationBean> beans = new ArrayList<>();
+		beans.add(newBean(1, "waylau"));
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		JdkCodec<List<SerializationBean>> listCodec = new JdkCodec(List.class, ArrayList.class, SerializationBean.class);
+		ByteBuf encoded = Unpooled.buffer();
+		listCodec.encode(beans, encoded);
+		assertEquals("waylau", listCodec.decode(encoded.retainedDuplicate()).get(0).getName());
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		JdkCodec<List<SerializationBean>> strictCodec = new JdkCodec(List.class, ArrayList.class);
+		assertThrows(InvalidClassException.class, () -> strictCodec.decode(encoded));
+		encoded.release();
+	}
+}
@@ -0,0 +1,221 @@
+package com.waylau.netty.demo.codec.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.waylau.netty.demo.codec.Msg;
+import com.waylau.netty.demo.codec.MsgHeader;
+import com.waylau.netty.demo.pojo.UnixTime;
+import com.waylau.netty.demo.protocol.ProtocolHeader;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * SchemaCompiler Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class SchemaCompilerTest {
+
+	static class Base {
+		@SchemaField(0)
+		int id;
+	}
+
+	static class Node extends Base {
+		@SchemaField(1)
+		private String name;
+		@SchemaField(2)
+		private Node next;
+		@SchemaField(value = 3, type = WireType.VARINT)
+		private int small;
+		@SchemaField(value = 4, type = WireType.VARINT)
+		private long big;
+
+		private Node() {
+		}
+	}
+
+	static class Unannotated {
+		int id;
+	}
+
+	static class Duplicate {
+		@SchemaField(0)
+		int a;
+		@SchemaField(0)
+		int b;
+	}
+
+	static class WrongType {
+		@SchemaField(value = 0, type = WireType.SHORT)
+		int a;
+	}
+
+	static class NoDefaultConstructor {
+		@SchemaField(0)
+		int a;
+
+		NoDefaultConstructor(int a) {
+			this.a = a;
+		}
+	}
+
+	private static <T> T roundTrip(Class<T> type, T msg, int expectedSize) throws Exception {
+		SchemaCodec<T> codec = SchemaCompiler.compile(type);
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			codec.encode(msg, buf);
+			assertEquals(expectedSize, buf.readableBytes());
+			T decoded = codec.decode(buf);
+			assertFalse(buf.isReadable());
+			return decoded;
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testProtocolHeader() throws Exception {
+		ProtocolHeader header = new ProtocolHeader((byte) 0xAF, (byte) 2, (short) 3, (short) -4, 1024);
+		// 与 ProtocolEncoder 写出的消息头相同：1 + 1 + 2 + 2 + 4 字节
+		ProtocolHeader decoded = roundTrip(ProtocolHeader.class, header, 10);
+		assertEquals((byte) 0xAF, decoded.getMagic());
+		assertEquals(2, decoded.getMsgType());
+		assertEquals(3, decoded.getReserve());
+		assertEquals(-4, decoded.getSn());
+		assertEquals(1024, decoded.getLen());
+	}
+
+	@Test
+	void testNestedMsg() throws Exception {
+		Msg msg = new Msg();
+		msg.setMsgHeader(new MsgHeader((byte) 7, 3));
+		msg.setBody("床前明月光");
+		// 1 + (1 + 4) + (4 + 15)
+		Msg decoded = roundTrip(Msg.class, msg, 25);
+		assertEquals(7, decoded.getMsgHeader().getMsgType());
+		assertEquals(3, decoded.getMsgHeader().getLen());
+		assertEquals("床前明月光", decoded.getBody());
+
+		msg.setMsgHeader(null);
+		msg.setBody(null);
+		decoded = roundTrip(Msg.class, msg, 5);
+		assertNull(decoded.getMsgHeader());
+		assertNull(decoded.getBody());
+	}
+
+	@Test
+	void testFinalFieldWithVarint() throws Exception {
+		UnixTime time = new UnixTime(3811377600L);
+		// 秒数 ZigZag 后需要 5 字节
+		assertEquals(3811377600L, roundTrip(UnixTime.class, time, 5).value());
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = { 0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE })
+	void testVarint(long value) throws Exception {
+		Node node = new Node();
+		node.id = 1;
+		node.small = (int) value;
+		node.big = value;
+		node.next = new Node();
+		node.next.id = 2;
+		node.next.name = "next";
+
+		SchemaCodec<Node> codec = SchemaCompiler.compile(Node.class);
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			codec.encode(node, buf);
+			Node decoded = codec.decode(buf);
+			assertFalse(buf.isReadable());
+			assertEquals(1, decoded.id);
+			assertEquals((int) value, decoded.small);
+			assertEquals(value, decoded.big);
+			assertNull(decoded.name);
+			assertEquals(2, decoded.next.id);
+			assertEquals("next", decoded.next.name);
+			assertNull(decoded.next.next);
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testSmallVarintIsOneByte() throws Exception {
+		Node node = new Node();
+		node.small = -64;
+		node.big = 63;
+		// 4 + 4 + 1 + 1 + 1
+		assertEquals(-64, roundTrip(Node.class, node, 11).small);
+	}
+
+	@Test
+	void testNestingDepthLimited() {
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			// id、空 name、"有 next" 标志，逐层嵌套
+			for (int i = 0; i <= CompiledSchemaCodec.MAX_DEPTH + 1; i++) {
+				buf.writeInt(i).writeInt(-1).writeBoolean(true);
+			}
+			assertThrows(DecoderException.class, () -> SchemaCompiler.compile(Node.class).decode(buf));
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testCorruptVarint() {
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			buf.writeInt(0).writeInt(-1).writeByte(0);
+			buf.writeBytes(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F });
+			assertThrows(CorruptedFrameException.class, () -> SchemaCompiler.compile(Node.class).decode(buf));
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testPipeline() {
+		EmbeddedChannel channel = new EmbeddedChannel(SchemaCompiler.newDecoder(Msg.class, 1024),
+				SchemaCompiler.newEncoder(Msg.class));
+		Msg msg = new Msg();
+		msg.setBody("waylau");
+		assertTrue(channel.writeOutbound(msg));
+		ByteBuf encoded = channel.readOutbound();
+		assertTrue(channel.writeInbound(encoded));
+		Msg decoded = channel.readInbound();
+		assertEquals("waylau", decoded.getBody());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testCompileIsCached() {
+		assertSame(SchemaCompiler.compile(Msg.class), SchemaCompiler.compile(Msg.class));
+		assertSame(SchemaCompiler.compile(Msg.class), Codecs.of(Codecs.COMPILED, Msg.class, null));
+		assertTrue(SchemaCompiler.isCompilable(Msg.class));
+		assertFalse(SchemaCompiler.isCompilable(Unannotated.class));
+	}
+
+	@Test
+	void testInvalidSchema() {
+		assertThrows(IllegalArgumentException.class, () -> SchemaCompiler.compile(Unannotated.class));
+		assertThrows(IllegalArgumentException.class, () -> SchemaCompiler.compile(Duplicate.class));
+		assertThrows(IllegalArgumentException.class, () -> SchemaCompiler.compile(WrongType.class));
+		assertThrows(IllegalArgumentException.class, () -> SchemaCompiler.compile(NoDefaultConstructor.class));
+	}
+}
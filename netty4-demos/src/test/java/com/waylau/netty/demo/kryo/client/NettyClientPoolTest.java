@@ -0,0 +1,205 @@
+package com.waylau.netty.demo.kryo.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.codec.NettyKryoDecoder;
+import com.waylau.netty.demo.kryo.codec.NettyKryoEncoder;
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+import com.waylau.netty.demo.kryo.server.NettyServerHandler;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * NettyClientPool Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class NettyClientPoolTest {
+
+	private EventLoopGroup group;
+	private Channel serverChannel;
+	private int port;
+	/**
+	 * 服务端攒够多少个请求后才统一处理
+	 */
+	private volatile int batchSize = 1;
+
+	@BeforeEach
+	void startServer() throws InterruptedException {
+		group = new NioEventLoopGroup(1);
+		KryoSerializer kryoSerializer = new KryoSerializer();
+		serverChannel = new ServerBootstrap().group(group)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast(new NettyKryoDecoder(kryoSerializer, RpcRequest.class));
+						ch.pipeline().addLast(new NettyKryoEncoder(kryoSerializer, RpcResponse.class));
+						ch.pipeline().addLast(new BatchingHandler());
+						ch.pipeline().addLast(new NettyServerHandler());
+					}
+				}).bind("127.0.0.1", 0).sync().channel();
+		port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+	}
+
+	@AfterEach
+	void stopServer() {
+		serverChannel.close().syncUninterruptibly();
+		group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+	}
+
+	/**
+	 * 攒够 batchSize 个请求后再一并交给 NettyServerHandler，之后的请求直接交给；
+	 * 方法名为 slow 的请求一直不处理
+	 */
+	private final class BatchingHandler extends ChannelInboundHandlerAdapter {
+		private final List<Object> held = new ArrayList<>();
+		private boolean batched;
+
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			held.add(msg);
+			if (batched || held.size() >= batchSize) {
+				batched = true;
+				held.stream().filter(request -> !"slow".equals(((RpcRequest) request).getMethodName()))
+						.forEach(ctx::fireChannelRead);
+				held.clear();
+			}
+		}
+	}
+
+	private static void awaitNoAcquired(NettyClientPool pool) throws InterruptedException {
+		// 连接在池的 EventLoop 上异步归还
+		for (int i = 0; i < 100 && pool.acquiredCount() > 0; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, pool.acquiredCount());
+	}
+
+	private static RpcRequest newRequest() {
+		return RpcRequest.builder().interfaceName("interface").methodName("hello").build();
+	}
+
+	@Test
+	void testRequestsSpreadOverBoundedConnections() throws Exception {
+		NettyClientPoolConfig config = NettyClientPoolConfig.builder().maxConnections(2).build();
+		try (NettyClientPool pool = new NettyClientPool("127.0.0.1", port, config)) {
+			List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				futures.add(pool.sendAsync(newRequest()));
+			}
+			for (CompletableFuture<RpcResponse> future : futures) {
+				assertNotNull(future.get(5, TimeUnit.SECONDS));
+			}
+
+			assertTrue(pool.connectCount() <= 2);
+			awaitNoAcquired(pool);
+			assertEquals(0, pool.pendingAcquireCount());
+			assertTrue(pool.maxConnectLatency(TimeUnit.NANOSECONDS) > 0);
+		}
+	}
+
+	@Test
+	void testPipelinedRequestsShareConnection() throws Exception {
+		NettyClientPoolConfig config = NettyClientPoolConfig.builder()
+				.maxConnections(1).pipelineDepth(8).build();
+		try (NettyClientPool pool = new NettyClientPool("127.0.0.1", port, config)) {
+			// 服务端收齐 8 个请求才响应，只有单个连接上同时在途 8 个请求时才能完成
+			batchSize = 8;
+			List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(pool.sendAsync(newRequest()));
+			}
+			for (CompletableFuture<RpcResponse> future : futures) {
+				assertNotNull(future.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, pool.connectCount());
+			awaitNoAcquired(pool);
+		}
+	}
+
+	@Test
+	void testFullConnectionReleasedOnAnyCompletion() throws Exception {
+		NettyClientPoolConfig config = NettyClientPoolConfig.builder()
+				.maxConnections(1).pipelineDepth(2).build();
+		try (NettyClientPool pool = new NettyClientPool("127.0.0.1", port, config)) {
+			// 服务端收齐前两个请求才处理，第二个请求发出后连接必定已满
+			batchSize = 2;
+			CompletableFuture<RpcResponse> first = pool.sendAsync(newRequest());
+			CompletableFuture<RpcResponse> slow = pool.sendAsync(
+					RpcRequest.builder().interfaceName("interface").methodName("slow").build());
+			assertNotNull(first.get(5, TimeUnit.SECONDS));
+
+			// 第一个请求完成后连接即归还，不必等待一直没有响应的 slow 请求
+			assertNotNull(pool.sendAsync(newRequest()).get(5, TimeUnit.SECONDS));
+			assertFalse(slow.isDone());
+		}
+	}
+
+	@Test
+	void testLoadGenerator() throws Exception {
+		RpcLoadGenerator generator = new RpcLoadGenerator("127.0.0.1", port, 1, 200, TimeUnit.MILLISECONDS);
+		RpcLoadGenerator.Result result = generator.run(4);
+		assertTrue(result.throughput() > 0);
+		assertTrue(result.percentileMicros(99.9) >= result.percentileMicros(50));
+	}
+
+	@Test
+	void testIdleConnectionEvicted() throws Exception {
+		NettyClientPoolConfig config = NettyClientPoolConfig.builder()
+				.maxConnections(1).idleTimeoutMillis(100).build();
+		try (NettyClientPool pool = new NettyClientPool("127.0.0.1", port, config)) {
+			assertNotNull(pool.sendAsync(newRequest()).get(5, TimeUnit.SECONDS));
+			assertEquals(1, pool.connectCount());
+
+			// 空闲连接被关闭，下次获取时重新建立
+			Thread.sleep(500);
+			assertNotNull(pool.sendAsync(newRequest()).get(5, TimeUnit.SECONDS));
+			assertEquals(2, pool.connectCount());
+		}
+	}
+
+	@Test
+	void testPendingAcquiresBounded() throws Exception {
+		NettyClientPoolConfig config = NettyClientPoolConfig.builder()
+				.maxConnections(1).maxPendingAcquires(1).build();
+		try (NettyClientPool pool = new NettyClientPool("127.0.0.1", port, config)) {
+			CompletableFuture<RpcResponse> first = pool.sendAsync(newRequest());
+			CompletableFuture<RpcResponse> second = pool.sendAsync(newRequest());
+			CompletableFuture<RpcResponse> third = pool.sendAsync(newRequest());
+
+			// 第三个请求超出等待队列上限，立即失败
+			ExecutionException e = assertThrows(ExecutionException.class,
+					() -> third.get(5, TimeUnit.SECONDS));
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertNotNull(first.get(5, TimeUnit.SECONDS));
+			assertNotNull(second.get(5, TimeUnit.SECONDS));
+		}
+	}
+}
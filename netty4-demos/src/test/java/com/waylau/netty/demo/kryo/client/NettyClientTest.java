@@ -0,0 +1,166 @@
+package com.waylau.netty.demo.kryo.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.codec.NettyKryoDecoder;
+import com.waylau.netty.demo.kryo.codec.NettyKryoEncoder;
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+import com.waylau.netty.demo.kryo.server.NettyServerHandler;
+import com.waylau.netty.demo.kryo.server.ServiceRegistry;
+import com.waylau.netty.demo.kryo.service.HelloService;
+import com.waylau.netty.demo.kryo.service.HelloServiceImpl;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * NettyClient Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class NettyClientTest {
+
+	private EventLoopGroup group;
+	private Channel serverChannel;
+	private int port;
+	private NettyClient client;
+
+	@BeforeEach
+	void startServer() throws InterruptedException {
+		group = new NioEventLoopGroup(1);
+		KryoSerializer kryoSerializer = new KryoSerializer();
+		serverChannel = new ServerBootstrap().group(group)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast(new NettyKryoDecoder(kryoSerializer, RpcRequest.class));
+						ch.pipeline().addLast(new NettyKryoEncoder(kryoSerializer, RpcResponse.class));
+						ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+							@Override
+							public void channelRead(ChannelHandlerContext ctx, Object msg) {
+								// 模拟丢失的响应
+								if (!"drop".equals(((RpcRequest) msg).getMethodName())) {
+									ctx.fireChannelRead(msg);
+								}
+							}
+						});
+						ch.pipeline().addLast(new NettyServerHandler(null,
+								new ServiceRegistry().register(HelloService.class, new HelloServiceImpl())));
+					}
+				}).bind("127.0.0.1", 0).sync().channel();
+		port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+		client = new NettyClient("127.0.0.1", port);
+	}
+
+	@AfterEach
+	void stopServer() {
+		client.close();
+		serverChannel.close().syncUninterruptibly();
+		group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+	}
+
+	private static RpcRequest hello(String name) {
+		return RpcRequest.builder()
+				.interfaceName(HelloService.class.getName())
+				.methodName("hello")
+				.paramTypes(new Class<?>[] { String.class })
+				.parameters(new Object[] { name }).build();
+	}
+
+	@Test
+	void testConcurrentRequestsShareOneConnection() throws Exception {
+		List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			futures.add(client.sendAsync(hello("n" + i)));
+		}
+
+		for (int i = 0; i < futures.size(); i++) {
+			RpcResponse response = futures.get(i).get(5, TimeUnit.SECONDS);
+			// 每个响应都回到发出对应请求的 Future
+			assertEquals("hello n" + i, response.getData());
+		}
+
+		// 同步调用复用同一个连接
+		assertNotNull(client.sendMessage(RpcRequest.builder()
+				.interfaceName("interface")
+				.methodName("hello").build()));
+	}
+
+	@Test
+	void testSameRequestSentConcurrently() throws Exception {
+		RpcRequest request = hello("same");
+		List<CompletableFuture<RpcResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			futures.add(client.sendAsync(request));
+		}
+
+		List<Long> requestIds = new ArrayList<>();
+		for (CompletableFuture<RpcResponse> future : futures) {
+			RpcResponse response = future.get(5, TimeUnit.SECONDS);
+			assertEquals("hello same", response.getData());
+			requestIds.add(response.getRequestId());
+		}
+		// 每次发送都有各自的请求 ID，调用方的对象不被修改
+		assertEquals(futures.size(), requestIds.stream().distinct().count());
+		assertEquals(0, request.getRequestId());
+	}
+
+	@Test
+	void testMissingResponseTimesOut() throws Exception {
+		NettyClient timeoutClient = new NettyClient("127.0.0.1", port, 100);
+		try {
+			CompletableFuture<RpcResponse> dropped = timeoutClient.sendAsync(RpcRequest.builder()
+					.interfaceName(HelloService.class.getName())
+					.methodName("drop").build());
+			ExecutionException e = assertThrows(ExecutionException.class,
+					() -> dropped.get(5, TimeUnit.SECONDS));
+			assertTrue(e.getCause() instanceof TimeoutException);
+
+			// 超时的请求不影响同一连接上后续的请求
+			assertEquals("hello after", timeoutClient.sendAsync(hello("after"))
+					.get(5, TimeUnit.SECONDS).getData());
+		} finally {
+			timeoutClient.close();
+		}
+	}
+
+	@Test
+	void testConnectFailureCompletesFuture() throws Exception {
+		int closedPort = port;
+		serverChannel.close().syncUninterruptibly();
+		NettyClient unreachable = new NettyClient("127.0.0.1", closedPort);
+		try {
+			// 连接失败通过返回的 Future 报告，而不是在调用线程上抛出
+			CompletableFuture<RpcResponse> future = unreachable.sendAsync(hello("x"));
+			assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+		} finally {
+			unreachable.close();
+		}
+	}
+}
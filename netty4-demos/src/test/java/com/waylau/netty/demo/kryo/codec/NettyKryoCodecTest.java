@@ -0,0 +1,47 @@
+package com.waylau.netty.demo.kryo.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import com.waylau.netty.demo.kryo.serializer.KryoSerializer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * NettyKryoEncoder/NettyKryoDecoder Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class NettyKryoCodecTest {
+
+	@Test
+	void testLargeMessageInFragments() {
+		KryoSerializer serializer = new KryoSerializer();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 64 * 1024; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		RpcResponse response = RpcResponse.builder().message(sb.toString()).build();
+
+		EmbeddedChannel encoder = new EmbeddedChannel(new NettyKryoEncoder(serializer, RpcResponse.class));
+		assertTrue(encoder.writeOutbound(response));
+		ByteBuf encoded = encoder.readOutbound();
+		assertEquals(encoded.readableBytes() - 4, encoded.getInt(0));
+
+		// 分两次到达，第一次不足以解码
+		EmbeddedChannel decoder = new EmbeddedChannel(new NettyKryoDecoder(serializer, RpcResponse.class));
+		assertFalse(decoder.writeInbound(encoded.readRetainedSlice(1000)));
+		assertTrue(decoder.writeInbound(encoded));
+		RpcResponse read = decoder.readInbound();
+		assertEquals(response.getMessage(), read.getMessage());
+
+		assertFalse(encoder.finish());
+		assertFalse(decoder.finish());
+	}
+}
@@ -0,0 +1,70 @@
+package com.waylau.netty.demo.kryo.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * KryoSerializer Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class KryoSerializerTest {
+
+	private static RpcRequest request(int size) {
+		StringBuilder sb = new StringBuilder(size);
+		for (int i = 0; i < size; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		return RpcRequest.builder().interfaceName(sb.toString()).methodName("hello").build();
+	}
+
+	@Test
+	void testReusedBuffersRoundTrip() {
+		KryoSerializer serializer = new KryoSerializer();
+		// 大对象之后再序列化小对象，复用的缓冲区不能残留之前的数据
+		for (int size : new int[] { 16, 200 * 1024, 16 }) {
+			RpcRequest request = request(size);
+			byte[] bytes = serializer.serialize(request);
+			RpcRequest read = serializer.deserialize(bytes, RpcRequest.class);
+			assertEquals(request.getInterfaceName(), read.getInterfaceName());
+			assertEquals("hello", read.getMethodName());
+		}
+	}
+
+	@Test
+	void testByteBufRoundTrip() {
+		KryoSerializer serializer = new KryoSerializer();
+		for (ByteBuf buf : new ByteBuf[] { Unpooled.buffer(), Unpooled.directBuffer() }) {
+			RpcRequest request = request(64 * 1024);
+			buf.writeInt(42); // 前面已有的数据不受影响
+			serializer.serialize(request, buf);
+			assertArrayEquals(serializer.serialize(request),
+					ByteBufUtil.getBytes(buf, 4, buf.readableBytes() - 4));
+
+			assertEquals(42, buf.readInt());
+			RpcRequest read = serializer.deserialize(buf, RpcRequest.class);
+			assertEquals(request.getInterfaceName(), read.getInterfaceName());
+			assertFalse(buf.isReadable());
+			buf.release();
+		}
+	}
+
+	@Test
+	void testMaxBufferSize() {
+		KryoSerializer serializer = new KryoSerializer(1024);
+		assertThrows(SerializeException.class, () -> serializer.serialize(request(2048)));
+		assertEquals(16, serializer.deserialize(serializer.serialize(request(16)),
+				RpcRequest.class).getInterfaceName().length());
+	}
+}
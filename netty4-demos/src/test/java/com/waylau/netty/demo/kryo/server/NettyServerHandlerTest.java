@@ -0,0 +1,264 @@
+package com.waylau.netty.demo.kryo.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+import com.waylau.netty.demo.kryo.dto.RpcResponse;
+import com.waylau.netty.demo.kryo.service.HelloService;
+import com.waylau.netty.demo.kryo.service.HelloServiceImpl;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+
+/**
+ * NettyServerHandler Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class NettyServerHandlerTest {
+
+	private RpcDispatcher dispatcher;
+
+	@AfterEach
+	void shutdown() {
+		if (dispatcher != null) {
+			dispatcher.shutdown();
+		}
+	}
+
+	private static RpcRequest newRequest(String interfaceName, long requestId) {
+		RpcRequest request = RpcRequest.builder().interfaceName(interfaceName).methodName("hello").build();
+		request.setRequestId(requestId);
+		return request;
+	}
+
+	/**
+	 * 业务线程写出的响应由 EmbeddedChannel 的任务队列执行，轮询直到收齐
+	 */
+	private static List<RpcResponse> awaitResponses(EmbeddedChannel channel, int count) throws InterruptedException {
+		List<RpcResponse> responses = new ArrayList<>();
+		for (int i = 0; i < 500 && responses.size() < count; i++) {
+			channel.runPendingTasks();
+			RpcResponse response;
+			while ((response = channel.readOutbound()) != null) {
+				responses.add(response);
+			}
+			if (responses.size() < count) {
+				Thread.sleep(10);
+			}
+		}
+		assertEquals(count, responses.size());
+		return responses;
+	}
+
+	@Test
+	void testInlineByRoute() {
+		dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR, 1, 16, 16)
+				.route("fast", DispatchMode.INLINE);
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(dispatcher));
+
+		channel.writeInbound(newRequest("fast", 7));
+		// 在 I/O 线程上直接处理，响应立即可读
+		RpcResponse response = channel.readOutbound();
+		assertNotNull(response);
+		assertEquals(7, response.getRequestId());
+		assertEquals(0, dispatcher.dispatchedCount());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testRegisteredServiceInvoked() {
+		ServiceRegistry registry = new ServiceRegistry().register(HelloService.class, new HelloServiceImpl());
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(null, registry));
+
+		RpcRequest request = RpcRequest.builder()
+				.interfaceName(HelloService.class.getName())
+				.methodName("add")
+				.parameters(new Object[] { 1, 2 }).build();
+		request.setRequestId(10);
+		channel.writeInbound(request);
+		RpcResponse response = channel.readOutbound();
+		assertEquals(10, response.getRequestId());
+		assertEquals(3, response.getData());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testOffloadToExecutor() throws InterruptedException {
+		dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR, 2, 16, 16);
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(dispatcher));
+
+		channel.writeInbound(newRequest("slow", 8));
+		RpcResponse response = awaitResponses(channel, 1).get(0);
+		assertEquals(8, response.getRequestId());
+		assertEquals(1, dispatcher.dispatchedCount());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testVirtualThreadModeFallsBack() throws InterruptedException {
+		dispatcher = new RpcDispatcher(DispatchMode.VIRTUAL_THREAD, 1, 16, 16);
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(dispatcher));
+
+		// 不支持虚拟线程的运行时退化为业务线程池，结果一致
+		channel.writeInbound(newRequest("any", 9));
+		assertEquals(9, awaitResponses(channel, 1).get(0).getRequestId());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testBackpressurePausesReading() throws InterruptedException {
+		dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR, 1, 16, 4);
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(dispatcher));
+		CountDownLatch blocker = new CountDownLatch(1);
+		dispatcher.executorFor(newRequest("any", 0)).execute(() -> {
+			try {
+				blocker.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		for (int i = 1; i <= 4; i++) {
+			channel.writeInbound(newRequest("any", i));
+		}
+		assertFalse(channel.config().isAutoRead());
+		assertEquals(1, dispatcher.readPauseCount());
+
+		blocker.countDown();
+		awaitResponses(channel, 4);
+		assertTrue(channel.config().isAutoRead());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testBackpressureWhenTasksFinishFirst() throws Exception {
+		CountDownLatch blocker = new CountDownLatch(1);
+		AtomicInteger depthChecks = new AtomicInteger();
+		dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR, 1, 16, 4) {
+			@Override
+			int maxQueueDepth() {
+				// 第 4 个请求已计入在途、尚未暂停读取时，让全部请求先完成
+				if (depthChecks.incrementAndGet() == 4) {
+					blocker.countDown();
+					CountDownLatch drained = new CountDownLatch(1);
+					executorFor(newRequest("any", 0)).execute(drained::countDown);
+					try {
+						assertTrue(drained.await(5, TimeUnit.SECONDS));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.maxQueueDepth();
+			}
+		};
+		dispatcher.executorFor(newRequest("any", 0)).execute(() -> {
+			try {
+				blocker.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		// EmbeddedChannel 会在写出时顺带执行任务队列，这里使用真实的 EventLoop
+		EventLoopGroup group = new DefaultEventLoopGroup(1);
+		LocalAddress address = new LocalAddress("kryo-backpressure");
+		CompletableFuture<Channel> accepted = new CompletableFuture<>();
+		BlockingQueue<RpcResponse> responses = new LinkedBlockingQueue<>();
+		try {
+			Channel server = new ServerBootstrap().group(group)
+					.channel(LocalServerChannel.class)
+					.childHandler(new ChannelInitializer<LocalChannel>() {
+						@Override
+						protected void initChannel(LocalChannel ch) {
+							ch.pipeline().addLast(new NettyServerHandler(dispatcher));
+							accepted.complete(ch);
+						}
+					}).bind(address).sync().channel();
+			Channel client = new Bootstrap().group(group)
+					.channel(LocalChannel.class)
+					.handler(new ChannelInboundHandlerAdapter() {
+						@Override
+						public void channelRead(ChannelHandlerContext ctx, Object msg) {
+							responses.add((RpcResponse) msg);
+						}
+					}).connect(address).sync().channel();
+			for (int i = 1; i <= 4; i++) {
+				client.write(newRequest("any", i));
+			}
+			client.flush();
+
+			for (int i = 0; i < 4; i++) {
+				assertNotNull(responses.poll(5, TimeUnit.SECONDS));
+			}
+			// 完成的计数在 EventLoop 中排在暂停之后，读取能够恢复
+			Channel child = accepted.get(5, TimeUnit.SECONDS);
+			assertTrue(child.eventLoop().submit(() -> child.config().isAutoRead()).get(5, TimeUnit.SECONDS));
+			assertEquals(1, dispatcher.readPauseCount());
+
+			client.close().sync();
+			server.close().sync();
+		} finally {
+			group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+		}
+	}
+
+	@Test
+	void testRejectedWhenExecutorQueueFull() throws InterruptedException {
+		dispatcher = new RpcDispatcher(DispatchMode.EVENT_EXECUTOR, 1, 16, 1024);
+		EmbeddedChannel channel = new EmbeddedChannel(new NettyServerHandler(dispatcher));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocker = new CountDownLatch(1);
+		dispatcher.executorFor(newRequest("any", 0)).execute(() -> {
+			started.countDown();
+			try {
+				blocker.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// 线程被占用，队列最多 16 个任务，其余请求被拒绝
+		for (int i = 1; i <= 20; i++) {
+			channel.writeInbound(newRequest("any", i));
+		}
+		assertEquals(4, dispatcher.rejectedCount());
+		RpcResponse busy = channel.readOutbound();
+		assertEquals("server busy", busy.getMessage());
+
+		blocker.countDown();
+		// 其余 3 个拒绝响应及 16 个正常响应
+		awaitResponses(channel, 19);
+		assertNull(channel.readOutbound());
+		assertFalse(channel.finish());
+	}
+}
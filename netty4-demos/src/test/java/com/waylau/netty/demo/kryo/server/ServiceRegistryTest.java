@@ -0,0 +1,116 @@
+package com.waylau.netty.demo.kryo.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.waylau.netty.demo.kryo.dto.RpcRequest;
+
+/**
+ * ServiceRegistry Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ServiceRegistryTest {
+
+	interface EchoService {
+		String echo(String s);
+
+		String echo(String s, int times);
+
+		long sum(long[] values);
+
+		void record(String s);
+
+		void fail();
+	}
+
+	static class EchoServiceImpl implements EchoService {
+		final List<String> recorded = new ArrayList<>();
+
+		@Override
+		public String echo(String s) {
+			return s;
+		}
+
+		@Override
+		public String echo(String s, int times) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < times; i++) {
+				sb.append(s);
+			}
+			return sb.toString();
+		}
+
+		@Override
+		public long sum(long[] values) {
+			long sum = 0;
+			for (long value : values) {
+				sum += value;
+			}
+			return sum;
+		}
+
+		@Override
+		public void record(String s) {
+			recorded.add(s);
+		}
+
+		@Override
+		public void fail() {
+			throw new IllegalStateException("boom");
+		}
+	}
+
+	private final EchoServiceImpl impl = new EchoServiceImpl();
+	private final ServiceRegistry registry = new ServiceRegistry().register(EchoService.class, impl);
+
+	private static RpcRequest request(String methodName, Class<?>[] paramTypes, Object... parameters) {
+		return RpcRequest.builder()
+				.interfaceName(EchoService.class.getName())
+				.methodName(methodName)
+				.paramTypes(paramTypes)
+				.parameters(parameters).build();
+	}
+
+	@Test
+	void testOverloadsResolvedByParamTypes() {
+		assertEquals("a", registry.invoke(request("echo", new Class<?>[] { String.class }, "a")));
+		assertEquals("aaa", registry.invoke(
+				request("echo", new Class<?>[] { String.class, int.class }, "a", 3)));
+	}
+
+	@Test
+	void testPrimitiveArrayAndVoid() {
+		assertEquals(6L, registry.invoke(request("sum", null, (Object) new long[] { 1, 2, 3 })));
+		assertNull(registry.invoke(request("record", null, "x")));
+		assertEquals("x", impl.recorded.get(0));
+	}
+
+	@Test
+	void testOverloadWithoutParamTypesRejected() {
+		// 存在重载时必须指定参数类型
+		assertThrows(RpcInvocationException.class, () -> registry.invoke(request("echo", null, "a")));
+	}
+
+	@Test
+	void testUnknownServiceAndMethod() {
+		assertThrows(RpcInvocationException.class, () -> registry.invoke(
+				RpcRequest.builder().interfaceName("unknown").methodName("echo").build()));
+		assertThrows(RpcInvocationException.class, () -> registry.invoke(request("missing", null)));
+	}
+
+	@Test
+	void testServiceExceptionWrapped() {
+		RpcInvocationException e = assertThrows(RpcInvocationException.class,
+				() -> registry.invoke(request("fail", null)));
+		assertTrue(e.getCause() instanceof IllegalStateException);
+	}
+}
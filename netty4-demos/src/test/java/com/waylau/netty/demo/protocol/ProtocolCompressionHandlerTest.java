@@ -0,0 +1,157 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * ProtocolCompressionHandler Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolCompressionHandlerTest {
+
+	private static final String POEM = "床前明月光疑是地上霜";
+
+	private static ResourceLeakDetector.Level originalLevel;
+
+	@BeforeAll
+	static void enableParanoidLeakDetection() {
+		originalLevel = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterAll
+	static void restoreLeakDetection() {
+		ResourceLeakDetector.setLevel(originalLevel);
+	}
+
+	private static String repeat(int times) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			sb.append(POEM);
+		}
+		return sb.toString();
+	}
+
+	private static ProtocolMsg newMsg(String body) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader((byte) 1, (byte) 2, (short) 0x0100, (short) 7, 0));
+		msg.setBody(body);
+		return msg;
+	}
+
+	private static ByteBuf encode(ProtocolCompressionHandler handler, ProtocolMsg msg) {
+		EmbeddedChannel channel = new EmbeddedChannel(handler, new ProtocolEncoder());
+		assertTrue(channel.writeOutbound(msg));
+		ByteBuf frame = channel.readOutbound();
+		assertFalse(channel.finish());
+		return frame;
+	}
+
+	private static EmbeddedChannel newDecoder(ProtocolCompressionHandler handler) {
+		return new EmbeddedChannel(new LengthFieldBasedFrameDecoder(1024 * 1024, 6, 4, 0, 0),
+				handler, new ProtocolMsgDecoder());
+	}
+
+	@Test
+	void testRoundTrip() {
+		String body = repeat(2700); // 与 ProtocolClient 发送的消息体相同
+		ByteBuf frame = encode(new ProtocolCompressionHandler(), newMsg(body));
+		int originalLength = ByteBufUtil.utf8Bytes(body);
+		assertTrue(ProtocolHeaders.len(frame) < originalLength / 10, "len=" + ProtocolHeaders.len(frame));
+		assertEquals(0x0100 | ProtocolCompressionHandler.COMPRESSED, ProtocolHeaders.reserve(frame));
+
+		EmbeddedChannel decoder = newDecoder(new ProtocolCompressionHandler());
+		assertTrue(decoder.writeInbound(frame));
+		ProtocolMsg msg = decoder.readInbound();
+		assertEquals(body, msg.getBody());
+		assertEquals(originalLength, msg.getProtocolHeader().getLen());
+		assertEquals(0x0100, msg.getProtocolHeader().getReserve());
+		assertEquals(7, msg.getProtocolHeader().getSn());
+		assertTrue(msg.release());
+		assertFalse(decoder.finish());
+	}
+
+	@Test
+	void testBelowThresholdIsNotCompressed() {
+		ByteBuf frame = encode(new ProtocolCompressionHandler(1024, 1024 * 1024), newMsg(repeat(10)));
+		assertEquals(0x0100, ProtocolHeaders.reserve(frame));
+		assertEquals(ByteBufUtil.utf8Bytes(repeat(10)), ProtocolHeaders.len(frame));
+
+		// 未压缩的帧原样通过
+		EmbeddedChannel decoder = newDecoder(new ProtocolCompressionHandler());
+		assertTrue(decoder.writeInbound(frame));
+		ProtocolMsg msg = decoder.readInbound();
+		assertEquals(repeat(10), msg.getBody());
+		assertTrue(msg.release());
+		assertFalse(decoder.finish());
+	}
+
+	@Test
+	void testIncompressibleIsSentAsIs() {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 4096; i++) {
+			sb.append((char) (0x4E00 + random.nextInt(0x5200)));
+		}
+		ByteBuf frame = encode(new ProtocolCompressionHandler(0, 1024 * 1024), newMsg(sb.toString()));
+		assertEquals(0, ProtocolHeaders.reserve(frame) & ProtocolCompressionHandler.COMPRESSED);
+		assertEquals(ByteBufUtil.utf8Bytes(sb), ProtocolHeaders.len(frame));
+		frame.release();
+	}
+
+	@Test
+	void testDecompressedLengthIsLimited() {
+		ByteBuf frame = encode(new ProtocolCompressionHandler(), newMsg(repeat(2700)));
+		EmbeddedChannel decoder = newDecoder(new ProtocolCompressionHandler(1024, 1024));
+		assertThrows(TooLongFrameException.class, () -> decoder.writeInbound(frame));
+		assertEquals(0, frame.refCnt());
+		assertFalse(decoder.finish());
+	}
+
+	@Test
+	void testUnderstatedLengthIsLimited() {
+		ByteBuf frame = encode(new ProtocolCompressionHandler(), newMsg(repeat(2700)));
+		// 把 Snappy 开头 3 字节的原始长度改为 1000，实际解压出的数据远多于此
+		int preamble = ProtocolHeaders.HEADER_SIZE;
+		assertEquals(0, frame.getByte(preamble + 2) & 0x80);
+		frame.setByte(preamble, 0xE8).setByte(preamble + 1, 0x87).setByte(preamble + 2, 0x00);
+
+		EmbeddedChannel decoder = newDecoder(new ProtocolCompressionHandler(1024, 1024));
+		assertThrows(TooLongFrameException.class, () -> decoder.writeInbound(frame));
+		assertEquals(0, frame.refCnt());
+		assertFalse(decoder.finish());
+	}
+
+	@Test
+	void testTruncatedBody() {
+		ByteBuf frame = encode(new ProtocolCompressionHandler(), newMsg(repeat(2700)));
+		int len = ProtocolHeaders.len(frame);
+		// 截掉压缩数据的后半部分，并相应修改长度字段
+		ByteBuf truncated = frame.copy(0, ProtocolHeaders.HEADER_SIZE + len / 2);
+		truncated.setInt(6, len / 2);
+		frame.release();
+
+		EmbeddedChannel decoder = newDecoder(new ProtocolCompressionHandler());
+		assertThrows(CorruptedFrameException.class, () -> decoder.writeInbound(truncated));
+		assertEquals(0, truncated.refCnt());
+		assertFalse(decoder.finish());
+	}
+}
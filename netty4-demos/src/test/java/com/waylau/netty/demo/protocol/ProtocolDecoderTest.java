@@ -0,0 +1,190 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * ProtocolDecoder Test.
+ *
+ * 解码器使用池化的消息，每个用例的池化消息都由新的记录泄漏的检测器跟踪，消息未释放时在用例结束时失败；帧的释放由引用计数断言检查。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolDecoderTest {
+
+	private static final String BODY = "床前明月光疑是地上霜";
+
+	private static ResourceLeakDetector.Level originalLevel;
+
+	private RecordingLeakDetector detector;
+
+	@BeforeAll
+	static void enableParanoidLeakDetection() {
+		originalLevel = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterAll
+	static void restoreLeakDetection() {
+		ResourceLeakDetector.setLevel(originalLevel);
+	}
+
+	@BeforeEach
+	void newDetector() {
+		detector = new RecordingLeakDetector();
+	}
+
+	@AfterEach
+	void assertNoLeaks() throws InterruptedException {
+		// 被回收的对象由引用处理线程异步入队，多 track 几次以处理已入队的对象
+		for (int i = 0; i < 5 && detector.leaks.isEmpty(); i++) {
+			System.gc();
+			Thread.sleep(10);
+			ProtocolMsg.newInstance(detector).release();
+		}
+		assertTrue(detector.leaks.isEmpty(), detector.leaks.toString());
+	}
+
+	private ProtocolDecoder newDecoder(boolean zeroCopy) {
+		// 池化的消息才会被泄漏检测器跟踪
+		return new ProtocolDecoder(1024 * 1024, 6, 4, 0, 0, true, zeroCopy,
+				() -> ProtocolMsg.newInstance(detector));
+	}
+
+	private static ByteBuf frame(String body) {
+		byte[] bodyBytes = body.getBytes(CharsetUtil.UTF_8);
+		ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+		buf.writeByte(0x01);
+		buf.writeByte(0x02);
+		buf.writeShort(0);
+		buf.writeShort(7);
+		buf.writeInt(bodyBytes.length);
+		buf.writeBytes(bodyBytes);
+		return buf;
+	}
+
+	@Test
+	void testCopyModeReleasesFrame() {
+		ByteBuf input = frame(BODY);
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(false));
+		assertTrue(channel.writeInbound(input));
+
+		ProtocolMsg msg = channel.readInbound();
+		assertNull(msg.content());
+		assertEquals(BODY, msg.getBody());
+		assertEquals(7, msg.getProtocolHeader().getSn());
+
+		// 解码完成后帧已被释放，不依赖消息的释放
+		assertEquals(0, input.refCnt());
+		assertTrue(msg.release());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testZeroCopyModeSlicesFrame() {
+		ByteBuf input = frame(BODY);
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(true));
+		assertTrue(channel.writeInbound(input));
+
+		ProtocolMsg msg = channel.readInbound();
+		ByteBuf content = msg.content();
+		assertNotNull(content);
+		assertEquals(BODY.getBytes(CharsetUtil.UTF_8).length, content.readableBytes());
+		assertEquals(2, msg.getProtocolHeader().getMsgType());
+
+		// 消息体未释放前帧仍然有效，且按需解码
+		assertEquals(1, input.refCnt());
+		assertEquals(BODY, msg.getBody());
+
+		assertTrue(msg.release());
+		assertNull(msg.content());
+		assertEquals(0, input.refCnt());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testZeroCopyModeFragmentedFrames() {
+		ByteBuf input = frame(BODY);
+		ByteBuf next = frame(BODY + BODY);
+		input.writeBytes(next);
+		next.release();
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(true));
+
+		assertFalse(channel.writeInbound(input.readRetainedSlice(5)));
+		assertTrue(channel.writeInbound(input.readRetainedSlice(40)));
+		assertTrue(channel.writeInbound(input.readRetainedSlice(input.readableBytes())));
+
+		ProtocolMsg first = channel.readInbound();
+		ProtocolMsg second = channel.readInbound();
+		assertNull(channel.readInbound());
+		assertEquals(BODY, first.getBody());
+		assertEquals(BODY + BODY, second.getBody());
+
+		assertTrue(first.release());
+		assertTrue(second.release());
+		assertTrue(input.release());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testSharedMsgDecoder() {
+		ProtocolMsgDecoder shared = new ProtocolMsgDecoder(true, () -> ProtocolMsg.newInstance(detector));
+		EmbeddedChannel first = new EmbeddedChannel(
+				new LengthFieldBasedFrameDecoder(1024 * 1024, 6, 4, 0, 0), shared);
+		EmbeddedChannel second = new EmbeddedChannel(
+				new LengthFieldBasedFrameDecoder(1024 * 1024, 6, 4, 0, 0), shared);
+
+		ByteBuf input = frame(BODY);
+		assertFalse(first.writeInbound(input.readRetainedSlice(7)));
+		assertTrue(second.writeInbound(frame(BODY + BODY)));
+		assertTrue(first.writeInbound(input));
+
+		ProtocolMsg fromFirst = first.readInbound();
+		ProtocolMsg fromSecond = second.readInbound();
+		assertEquals(BODY, fromFirst.getBody());
+		assertEquals(BODY + BODY, fromSecond.getBody());
+		assertEquals(7, fromSecond.getProtocolHeader().getSn());
+
+		assertTrue(fromFirst.release());
+		assertTrue(fromSecond.release());
+		assertEquals(0, input.refCnt());
+		assertFalse(first.finish());
+		assertFalse(second.finish());
+	}
+
+	@Test
+	void testZeroCopyEcho() {
+		ByteBuf input = frame(BODY);
+		ByteBuf expected = input.copy();
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(true),
+				new ProtocolEncoder(), new ProtocolServerHandler());
+
+		// 服务端处理器原样回写，编码器直接写出消息体切片
+		assertFalse(channel.writeInbound(input));
+		channel.flushOutbound();
+		ByteBuf echoed = channel.readOutbound();
+		assertEquals(expected, echoed);
+		assertEquals(0, input.refCnt());
+
+		echoed.release();
+		expected.release();
+		assertFalse(channel.finish());
+	}
+}
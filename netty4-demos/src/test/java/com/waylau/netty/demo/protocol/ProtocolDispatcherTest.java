@@ -0,0 +1,125 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * ProtocolDispatcher Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolDispatcherTest {
+
+	private static ProtocolMsg newMsg(byte msgType, int sn) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader((byte) 1, msgType, (short) 0, (short) sn, 0));
+		msg.setBody("sn" + sn);
+		return msg;
+	}
+
+	@Test
+	void testDispatchByType() {
+		List<String> calls = new CopyOnWriteArrayList<String>();
+		ProtocolDispatcher dispatcher = new ProtocolDispatcher()
+				.register(MsgType.EMGW_LOGIN_REQ, (ctx, msg) -> calls.add("req" + msg.getProtocolHeader().getSn()))
+				.register((byte) 0xF0, (ctx, msg) -> calls.add("f0" + msg.getProtocolHeader().getSn()), null);
+		EmbeddedChannel channel = new EmbeddedChannel(dispatcher);
+
+		ProtocolMsg req = newMsg(MsgType.EMGW_LOGIN_REQ.getValue(), 1);
+		ProtocolMsg high = newMsg((byte) 0xF0, 2);
+		ProtocolMsg unknown = newMsg(MsgType.EMGW_LOGIN_RES.getValue(), 3);
+		assertFalse(channel.writeInbound(req));
+		assertFalse(channel.writeInbound(high));
+		// 未注册的类型传给下一个处理器
+		assertTrue(channel.writeInbound(unknown));
+
+		assertEquals("[req1, f02]", calls.toString());
+		assertEquals(0, req.refCnt());
+		assertEquals(0, high.refCnt());
+		assertSame(unknown, channel.readInbound());
+		assertTrue(unknown.release());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testEcho() {
+		ProtocolDispatcher dispatcher = new ProtocolDispatcher()
+				.register(MsgType.EMGW_LOGIN_REQ, (ctx, msg) -> ctx.write(msg.retain()));
+		EmbeddedChannel channel = new EmbeddedChannel(new ProtocolEncoder(), dispatcher);
+
+		assertFalse(channel.writeInbound(newMsg(MsgType.EMGW_LOGIN_REQ.getValue(), 9)));
+		ByteBuf echoed = channel.readOutbound();
+		assertEquals(9, ProtocolHeaders.sn(echoed));
+		echoed.release();
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testHandlerFailure() {
+		ProtocolDispatcher dispatcher = new ProtocolDispatcher()
+				.register(MsgType.EMGW_LOGIN_REQ, (ctx, msg) -> {
+					throw new IllegalStateException("boom");
+				});
+		EmbeddedChannel channel = new EmbeddedChannel(dispatcher);
+		ProtocolMsg msg = newMsg(MsgType.EMGW_LOGIN_REQ.getValue(), 1);
+		// 异常沿 pipeline 传播，EmbeddedChannel 会重新抛出
+		assertThrows(IllegalStateException.class, () -> channel.writeInbound(msg));
+		assertEquals(0, msg.refCnt());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testSlowTypeDoesNotBlockOthers() throws Exception {
+		EventExecutorGroup slowGroup = new DefaultEventExecutorGroup(2);
+		try {
+			CountDownLatch unblock = new CountDownLatch(1);
+			CountDownLatch slowDone = new CountDownLatch(3);
+			List<Integer> slowOrder = new CopyOnWriteArrayList<Integer>();
+			List<Integer> fast = new CopyOnWriteArrayList<Integer>();
+			ProtocolDispatcher dispatcher = new ProtocolDispatcher()
+					.register(MsgType.EMGW_LOGIN_REQ, (ctx, msg) -> {
+						unblock.await(5, TimeUnit.SECONDS);
+						slowOrder.add((int) msg.getProtocolHeader().getSn());
+						slowDone.countDown();
+					}, slowGroup)
+					.register(MsgType.EMGW_LOGIN_RES, (ctx, msg) -> fast.add((int) msg.getProtocolHeader().getSn()));
+			EmbeddedChannel channel = new EmbeddedChannel(dispatcher);
+
+			ProtocolMsg last = null;
+			for (int i = 0; i < 3; i++) {
+				last = newMsg(MsgType.EMGW_LOGIN_REQ.getValue(), i);
+				channel.writeInbound(last);
+				channel.writeInbound(newMsg(MsgType.EMGW_LOGIN_RES.getValue(), 10 + i));
+			}
+			// 慢类型阻塞时快类型已在 I/O 线程处理完
+			assertEquals("[10, 11, 12]", fast.toString());
+			assertEquals(1, last.refCnt());
+
+			unblock.countDown();
+			assertTrue(slowDone.await(5, TimeUnit.SECONDS));
+			// 同一连接的同一类型按顺序执行
+			assertEquals("[0, 1, 2]", slowOrder.toString());
+			assertNull(channel.readInbound());
+			assertFalse(channel.finish());
+		} finally {
+			slowGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+		}
+	}
+}
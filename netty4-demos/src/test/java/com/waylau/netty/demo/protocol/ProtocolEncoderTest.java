@@ -0,0 +1,72 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+
+/**
+ * ProtocolEncoder Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolEncoderTest {
+
+	private static final String BODY = "床前明月光，疑是地上霜。abc";
+
+	@Test
+	void testSmallBodyEncodedWithUpperBound() {
+		ByteBuf out = encode(BODY);
+		// 短消息按上限分配，写入过程中没有扩容
+		assertEquals(10 + ByteBufUtil.utf8MaxBytes(BODY), out.capacity());
+		assertFrame(BODY, out);
+	}
+
+	@Test
+	void testLargeBodyEncodedWithExactSize() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append(BODY);
+		}
+		String body = sb.toString();
+		ByteBuf out = encode(body);
+		assertEquals(out.readableBytes(), out.capacity());
+		assertFrame(body, out);
+	}
+
+	private static ByteBuf encode(String body) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader((byte) 0x01, (byte) 0x02,
+				(short) 0, (short) 9, 0));
+		msg.setBody(body);
+
+		EmbeddedChannel channel = new EmbeddedChannel(new ProtocolEncoder());
+		channel.config().setAllocator(UnpooledByteBufAllocator.DEFAULT);
+		assertTrue(channel.writeOutbound(msg));
+		assertEquals(0, msg.refCnt());
+
+		ByteBuf out = channel.readOutbound();
+		assertFalse(channel.finish());
+		return out;
+	}
+
+	private static void assertFrame(String body, ByteBuf out) {
+		int bodySize = body.getBytes(CharsetUtil.UTF_8).length;
+		assertEquals(10 + bodySize, out.readableBytes());
+		assertEquals(0x01, out.readByte());
+		assertEquals(0x02, out.readByte());
+		assertEquals(0, out.readShort());
+		assertEquals(9, out.readShort());
+		assertEquals(bodySize, out.readInt());
+		assertEquals(body, out.toString(CharsetUtil.UTF_8));
+		out.release();
+	}
+}
@@ -0,0 +1,84 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * ProtocolHeaders Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolHeadersTest {
+
+	private static ByteBuf encode(byte magic, byte msgType, short reserve, short sn, String body) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.setProtocolHeader(new ProtocolHeader(magic, msgType, reserve, sn, 0));
+		msg.setBody(body);
+		EmbeddedChannel channel = new EmbeddedChannel(new ProtocolEncoder());
+		assertTrue(channel.writeOutbound(msg));
+		ByteBuf frame = channel.readOutbound();
+		assertFalse(channel.finish());
+		return frame;
+	}
+
+	@Test
+	void testReadFromFrame() {
+		ByteBuf frame = Unpooled.buffer();
+		frame.writeByte(0xFF); // 帧之前的数据，读索引之后才是消息头
+		frame.writeBytes(encode((byte) 0xAF, (byte) 0x81, (short) -2, (short) 0xFFFE, "waylau"));
+		frame.skipBytes(1);
+
+		assertEquals((byte) 0xAF, ProtocolHeaders.magic(frame));
+		assertEquals((byte) 0x81, ProtocolHeaders.msgType(frame));
+		assertEquals(-2, ProtocolHeaders.reserve(frame));
+		assertEquals((short) 0xFFFE, ProtocolHeaders.sn(frame));
+		assertEquals(6, ProtocolHeaders.len(frame));
+		assertEquals(1, frame.readerIndex());
+		frame.release();
+	}
+
+	@Test
+	void testPack() {
+		ByteBuf frame = encode((byte) 0xAF, (byte) 0x81, (short) -2, (short) 0xFFFE, "waylau");
+		long packed = ProtocolHeaders.pack(frame);
+		assertEquals(ProtocolHeaders.pack((byte) 0xAF, (byte) 0x81, (short) -2, (short) 0xFFFE), packed);
+		assertEquals(0, packed >>> 48);
+
+		assertEquals((byte) 0xAF, ProtocolHeaders.magic(packed));
+		assertEquals((byte) 0x81, ProtocolHeaders.msgType(packed));
+		assertEquals(-2, ProtocolHeaders.reserve(packed));
+		assertEquals((short) 0xFFFE, ProtocolHeaders.sn(packed));
+
+		ProtocolHeader header = ProtocolHeaders.toHeader(packed, ProtocolHeaders.len(frame));
+		assertEquals(packed, ProtocolHeaders.pack(header));
+		assertEquals(6, header.getLen());
+		frame.release();
+	}
+
+	@Test
+	void testMsgTypeFilter() {
+		EmbeddedChannel channel = new EmbeddedChannel(new LengthFieldBasedFrameDecoder(1024, 6, 4, 0, 0),
+				new ProtocolMsgTypeFilter(MsgType.EMGW_LOGIN_REQ), new ProtocolMsgDecoder());
+		ByteBuf dropped = encode((byte) 1, MsgType.EMGW_LOGIN_RES.getValue(), (short) 0, (short) 1, "res");
+		ByteBuf accepted = encode((byte) 1, MsgType.EMGW_LOGIN_REQ.getValue(), (short) 0, (short) 2, "req");
+
+		assertFalse(channel.writeInbound(dropped));
+		assertTrue(channel.writeInbound(accepted));
+		ProtocolMsg msg = channel.readInbound();
+		assertEquals(2, msg.getProtocolHeader().getSn());
+		assertEquals("req", msg.getBody());
+		assertNull(channel.readInbound());
+		assertEquals(0, dropped.refCnt());
+		assertFalse(channel.finish());
+	}
+}
@@ -0,0 +1,151 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * ProtocolLoadGenerator Test.
+ *
+ * 压测本机上的回显服务端，服务端按消息类型计数。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolLoadGeneratorTest {
+
+	private static final AtomicLongArray RECEIVED = new AtomicLongArray(256);
+
+	private static EventLoopGroup group;
+	private static Channel server;
+	private static int port;
+
+	@BeforeAll
+	static void startServer() throws InterruptedException {
+		ProtocolDispatcher dispatcher = new ProtocolDispatcher();
+		for (MsgType msgType : MsgType.values()) {
+			dispatcher.register(msgType, ProtocolLoadGeneratorTest::echo);
+		}
+		group = new NioEventLoopGroup(2);
+		server = new ServerBootstrap()
+				.group(group)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					public void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(1024 * 1024, 6, 4, 0, 0),
+								new ProtocolMsgDecoder(), new ProtocolEncoder(), dispatcher);
+					}
+				})
+				.bind("localhost", 0).sync().channel();
+		port = ((InetSocketAddress) server.localAddress()).getPort();
+	}
+
+	@AfterAll
+	static void stopServer() {
+		server.close().syncUninterruptibly();
+		group.shutdownGracefully().syncUninterruptibly();
+	}
+
+	@BeforeEach
+	void resetCounters() {
+		for (int i = 0; i < RECEIVED.length(); i++) {
+			RECEIVED.set(i, 0);
+		}
+	}
+
+	private static void echo(ChannelHandlerContext ctx, ProtocolMsg msg) {
+		RECEIVED.incrementAndGet(msg.getProtocolHeader().getMsgType() & 0xFF);
+		ctx.write(msg.retain());
+	}
+
+	private static long received(MsgType msgType) {
+		return RECEIVED.get(msgType.getValue() & 0xFF);
+	}
+
+	@Test
+	void testClosedLoop() throws InterruptedException {
+		ProtocolLoadGenerator.Result result = new ProtocolLoadGenerator("localhost", port)
+				.connections(4)
+				.threads(2)
+				.payloadSize(256)
+				.mix(MsgType.EMGW_LOGIN_REQ, 1)
+				.closedLoop(8)
+				.warmup(200, TimeUnit.MILLISECONDS)
+				.duration(500, TimeUnit.MILLISECONDS)
+				.run();
+
+		assertTrue(result.completed() > 0, result.toString());
+		assertEquals(0, result.failed());
+		assertEquals(result.completed(), result.uncorrectedHistogram().getTotalCount());
+		// 修正只会补充样本
+		assertTrue(result.histogram().getTotalCount() >= result.completed());
+		assertEquals(0, received(MsgType.EMGW_LOGIN_RES));
+		// 预热期间的请求也发给了服务端，但不计入结果
+		assertTrue(received(MsgType.EMGW_LOGIN_REQ) > result.completed());
+	}
+
+	@Test
+	void testOpenLoop() throws InterruptedException {
+		ProtocolLoadGenerator.Result result = new ProtocolLoadGenerator("localhost", port)
+				.connections(2)
+				.threads(1)
+				.mix(MsgType.EMGW_LOGIN_REQ, 1)
+				.mix(MsgType.EMGW_LOGIN_RES, 1)
+				.openLoop(2000)
+				.warmup(200, TimeUnit.MILLISECONDS)
+				.duration(1, TimeUnit.SECONDS)
+				.run();
+
+		// 按计划时间统计，完成数与速率 × 时长一致
+		assertEquals(2000, result.completed(), 2, result.toString());
+		assertEquals(0, result.failed());
+		assertEquals(2000, result.throughput(), 2);
+		Histogram corrected = result.histogram();
+		Histogram uncorrected = result.uncorrectedHistogram();
+		assertEquals(result.completed(), corrected.getTotalCount());
+		assertEquals(result.completed(), uncorrected.getTotalCount());
+		// 计划时间不晚于实际发出时间
+		assertTrue(corrected.getMaxValue() >= uncorrected.getMaxValue());
+		assertTrue(corrected.getValueAtPercentile(50) >= uncorrected.getValueAtPercentile(50));
+		assertTrue(received(MsgType.EMGW_LOGIN_REQ) > 0);
+		assertTrue(received(MsgType.EMGW_LOGIN_RES) > 0);
+		assertEquals(2400, received(MsgType.EMGW_LOGIN_REQ) + received(MsgType.EMGW_LOGIN_RES), 4);
+	}
+
+	@Test
+	void testPayloadSize() {
+		assertEquals(0, ProtocolLoadGenerator.payload(0).length());
+		assertEquals(1000, ProtocolLoadGenerator.payload(1000).getBytes().length);
+	}
+
+	@Test
+	void testInvalidArguments() {
+		ProtocolLoadGenerator generator = new ProtocolLoadGenerator("localhost", port);
+		assertThrows(IllegalArgumentException.class, () -> generator.connections(0));
+		assertThrows(IllegalArgumentException.class, () -> generator.openLoop(0));
+		assertThrows(IllegalArgumentException.class, () -> generator.closedLoop(0));
+		assertThrows(IllegalArgumentException.class, () -> generator.mix(MsgType.EMGW_LOGIN_REQ, -1));
+		assertThrows(IllegalArgumentException.class, () -> generator.duration(0, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,194 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import io.netty.util.IllegalReferenceCountException;
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * ProtocolMsg 对象池 Test.
+ *
+ * 每个用例的池化消息都由新的记录泄漏的检测器跟踪，并在用例结束时检查没有泄漏，未释放的池化消息会在之后的 track 中被报告。
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolMsgPoolTest {
+
+	private static final String BODY = "床前明月光疑是地上霜";
+
+	private static ResourceLeakDetector.Level originalLevel;
+
+	private RecordingLeakDetector detector;
+
+	@BeforeAll
+	static void enableParanoidLeakDetection() {
+		originalLevel = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterAll
+	static void restoreLeakDetection() {
+		ResourceLeakDetector.setLevel(originalLevel);
+	}
+
+	@BeforeEach
+	void newDetector() {
+		detector = new RecordingLeakDetector();
+	}
+
+	@AfterEach
+	void assertNoLeaks() {
+		// 再 track 一次以处理已被回收的对象
+		System.gc();
+		ProtocolMsg.newInstance(detector).release();
+		assertTrue(detector.leaks.isEmpty(), detector.leaks.toString());
+	}
+
+	private static ByteBuf frame(String body, int sn) {
+		byte[] bodyBytes = body.getBytes(CharsetUtil.UTF_8);
+		ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+		buf.writeByte(0x01);
+		buf.writeByte(0x02);
+		buf.writeShort(0);
+		buf.writeShort(sn);
+		buf.writeInt(bodyBytes.length);
+		buf.writeBytes(bodyBytes);
+		return buf;
+	}
+
+	private ProtocolDecoder newDecoder(boolean zeroCopy) {
+		return new ProtocolDecoder(1024 * 1024, 6, 4, 0, 0, true, zeroCopy,
+				() -> ProtocolMsg.newInstance(detector));
+	}
+
+	@Test
+	void testReleasedMsgIsReused() {
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(false));
+		assertTrue(channel.writeInbound(frame(BODY, 7)));
+		ProtocolMsg first = channel.readInbound();
+		assertTrue(first.isPooled());
+		ProtocolHeader header = first.getProtocolHeader();
+		assertEquals(7, header.getSn());
+		assertEquals(BODY, first.getBody());
+		assertTrue(first.release());
+
+		// 归还时已清空
+		assertNull(first.getBody());
+		assertEquals(0, header.getSn());
+		assertEquals(0, header.getLen());
+
+		assertTrue(channel.writeInbound(frame("second", 8)));
+		ProtocolMsg second = channel.readInbound();
+		assertSame(first, second);
+		assertSame(header, second.getProtocolHeader());
+		assertEquals(1, second.refCnt());
+		assertEquals(8, second.getProtocolHeader().getSn());
+		assertEquals("second", second.getBody());
+		assertTrue(second.release());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testZeroCopyContentReleasedOnRecycle() {
+		ByteBuf input = frame(BODY, 1);
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(true));
+		assertTrue(channel.writeInbound(input));
+		ProtocolMsg msg = channel.readInbound();
+		assertEquals(1, input.refCnt());
+		assertTrue(msg.release());
+		assertNull(msg.content());
+		assertEquals(0, input.refCnt());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testEchoReturnsMsgToPool() {
+		ByteBuf input = frame(BODY, 3);
+		ByteBuf expected = input.copy();
+		EmbeddedChannel channel = new EmbeddedChannel(newDecoder(true),
+				new ProtocolEncoder(), new ProtocolServerHandler());
+
+		// 处理器和编码器各释放一次后，消息回到对象池
+		assertFalse(channel.writeInbound(input));
+		channel.flushOutbound();
+		ByteBuf echoed = channel.readOutbound();
+		assertEquals(expected, echoed);
+		echoed.release();
+		expected.release();
+
+		ProtocolMsg next = ProtocolMsg.newInstance(detector);
+		assertEquals(0, next.getProtocolHeader().getSn());
+		assertNull(next.getBody());
+		assertTrue(next.release());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testDoubleFreeIsDetected() {
+		ProtocolMsg msg = ProtocolMsg.newInstance(detector);
+		assertTrue(msg.release());
+		assertThrows(IllegalReferenceCountException.class, msg::release);
+		assertThrows(IllegalReferenceCountException.class, msg::retain);
+	}
+
+	@Test
+	void testPooledMsgCopiesCallerHeader() {
+		ProtocolHeader header = new ProtocolHeader((byte) 1, (byte) 2, (short) 3, (short) 4, 5);
+		ProtocolMsg msg = ProtocolMsg.newInstance(detector);
+		msg.setProtocolHeader(header);
+		assertNotSame(header, msg.getProtocolHeader());
+		assertEquals(4, msg.getProtocolHeader().getSn());
+		assertTrue(msg.release());
+		// 归还对象池时只清零消息自带的消息头
+		assertEquals(1, header.getMagic());
+		assertEquals(2, header.getMsgType());
+		assertEquals(3, header.getReserve());
+		assertEquals(4, header.getSn());
+		assertEquals(5, header.getLen());
+	}
+
+	@Test
+	void testUnpooledMsgIsNotRecycled() {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.getProtocolHeader().setSn((short) 5);
+		msg.setBody(BODY);
+		assertFalse(msg.isPooled());
+		assertTrue(msg.release());
+		assertEquals(5, msg.getProtocolHeader().getSn());
+		assertEquals(BODY, msg.getBody());
+	}
+
+	@Test
+	void testLeakIsDetected() throws InterruptedException {
+		leak();
+		for (int i = 0; i < 50 && detector.leaks.isEmpty(); i++) {
+			System.gc();
+			Thread.sleep(10);
+			ProtocolMsg.newInstance(detector).release();
+		}
+		assertEquals(1, detector.leaks.size());
+		detector.leaks.clear();
+	}
+
+	private void leak() {
+		ProtocolMsg msg = ProtocolMsg.newInstance(detector);
+		msg.touch("leaked on purpose");
+	}
+}
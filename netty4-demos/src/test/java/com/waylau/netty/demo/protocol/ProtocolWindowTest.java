@@ -0,0 +1,292 @@
+package com.waylau.netty.demo.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+
+/**
+ * ProtocolClientWindow/ProtocolServerWindow Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ProtocolWindowTest {
+
+	private static ProtocolMsg newMsg(String body) {
+		ProtocolMsg msg = new ProtocolMsg();
+		msg.getProtocolHeader().setMsgType(MsgType.EMGW_LOGIN_REQ.getValue());
+		msg.setBody(body);
+		return msg;
+	}
+
+	private static ProtocolMsg response(int sn) {
+		ProtocolMsg msg = newMsg("res" + sn);
+		msg.getProtocolHeader().setSn((short) sn);
+		return msg;
+	}
+
+	/**
+	 * 读出已写出的请求，返回它们的序列号
+	 */
+	private static List<Integer> written(EmbeddedChannel channel) {
+		List<Integer> sns = new ArrayList<Integer>();
+		ProtocolMsg msg;
+		while ((msg = channel.readOutbound()) != null) {
+			sns.add(msg.getProtocolHeader().getSn() & 0xFFFF);
+			msg.release();
+		}
+		return sns;
+	}
+
+	@Test
+	void testOutOfOrderResponsesAndFlowControl() throws Exception {
+		ProtocolClientWindow window = new ProtocolClientWindow(4);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		List<CompletableFuture<ProtocolMsg>> futures = new ArrayList<CompletableFuture<ProtocolMsg>>();
+		for (int i = 0; i < 6; i++) {
+			futures.add(window.request(newMsg("req" + i)));
+		}
+		assertEquals("[0, 1, 2, 3]", written(channel).toString());
+		assertEquals(4, window.inFlight());
+		assertEquals(2, window.pendingCount());
+
+		// 乱序响应，窗口起点仍是 0，不能再写出
+		channel.writeInbound(response(2));
+		assertEquals("res2", futures.get(2).get().getBody());
+		assertTrue(written(channel).isEmpty());
+
+		// 起点前移到 1，窗口为 [1, 5)
+		channel.writeInbound(response(0));
+		assertEquals("[4]", written(channel).toString());
+		channel.writeInbound(response(1));
+		// 2 已响应，起点前移到 3，窗口为 [3, 7)
+		assertEquals("[5]", written(channel).toString());
+		assertEquals(0, window.pendingCount());
+
+		channel.writeInbound(response(5));
+		channel.writeInbound(response(3));
+		channel.writeInbound(response(4));
+		for (int i = 0; i < 6; i++) {
+			ProtocolMsg res = futures.get(i).get();
+			assertEquals("res" + i, res.getBody());
+			res.release();
+		}
+		assertEquals(0, window.inFlight());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testWrapAround() throws Exception {
+		ProtocolClientWindow window = new ProtocolClientWindow(3);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		int total = ProtocolClientWindow.SN_SPACE + 10;
+		for (int i = 0; i < total; i++) {
+			CompletableFuture<ProtocolMsg> future = window.request(newMsg("req"));
+			ProtocolMsg req = channel.readOutbound();
+			int sn = req.getProtocolHeader().getSn() & 0xFFFF;
+			assertEquals(i & 0xFFFF, sn);
+			req.release();
+			channel.writeInbound(response(sn));
+			future.get().release();
+		}
+		assertEquals(0, window.inFlight());
+
+		// 循环后的旧序列号不在窗口内
+		window.request(newMsg("req"));
+		written(channel);
+		ProtocolMsg stale = response(5);
+		assertThrows(IllegalStateException.class, () -> channel.writeInbound(stale));
+		assertEquals(0, stale.refCnt());
+		assertEquals(1, window.inFlight());
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	void testPlainWritePassesResponseOn() {
+		ProtocolClientWindow window = new ProtocolClientWindow(2);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		channel.writeOutbound(newMsg("a"), newMsg("b"), newMsg("c"));
+		assertEquals("[0, 1]", written(channel).toString());
+
+		ProtocolMsg res = response(1);
+		channel.writeInbound(res);
+		assertSame(res, channel.readInbound());
+		res.release();
+		// 起点仍为 0
+		assertTrue(written(channel).isEmpty());
+		channel.writeInbound(response(0));
+		((ProtocolMsg) channel.readInbound()).release();
+		assertEquals("[2]", written(channel).toString());
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	void testCloseFailsOutstandingRequests() {
+		ProtocolClientWindow window = new ProtocolClientWindow(1);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		CompletableFuture<ProtocolMsg> inFlight = window.request(newMsg("a"));
+		ProtocolMsg queued = newMsg("b");
+		CompletableFuture<ProtocolMsg> pending = window.request(queued);
+		assertEquals(1, window.pendingCount());
+		written(channel);
+
+		channel.close();
+		ExecutionException e = assertThrows(ExecutionException.class, inFlight::get);
+		assertTrue(e.getCause() instanceof ClosedChannelException);
+		assertTrue(pending.isCompletedExceptionally());
+		assertEquals(0, queued.refCnt());
+		assertEquals(0, window.pendingCount());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testFailedWriteFreesSlot() throws Exception {
+		ProtocolClientWindow window = new ProtocolClientWindow(2);
+		EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+			@Override
+			public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+				// 模拟编码失败：body 为 bad 的请求写出失败
+				ProtocolMsg req = (ProtocolMsg) msg;
+				if ("bad".equals(req.getBody())) {
+					req.release();
+					promise.setFailure(new EncoderException("bad"));
+				} else {
+					ctx.write(msg, promise);
+				}
+			}
+		}, window);
+		CompletableFuture<ProtocolMsg> bad = window.request(newMsg("bad"));
+		CompletableFuture<ProtocolMsg> first = window.request(newMsg("a"));
+		CompletableFuture<ProtocolMsg> second = window.request(newMsg("b"));
+		channel.runPendingTasks();
+
+		ExecutionException e = assertThrows(ExecutionException.class, bad::get);
+		assertTrue(e.getCause() instanceof EncoderException);
+		// 失败的序列号 0 已释放，窗口前移，排队的请求得以写出
+		assertEquals("[1, 2]", written(channel).toString());
+		assertEquals(0, window.pendingCount());
+		channel.writeInbound(response(1), response(2));
+		first.get().release();
+		second.get().release();
+		assertEquals(0, window.inFlight());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testMissingResponseTimesOut() throws Exception {
+		ProtocolClientWindow window = new ProtocolClientWindow(1, 50, TimeUnit.MILLISECONDS);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		CompletableFuture<ProtocolMsg> lost = window.request(newMsg("lost"));
+		CompletableFuture<ProtocolMsg> next = window.request(newMsg("next"));
+		assertEquals("[0]", written(channel).toString());
+		assertEquals(1, window.pendingCount());
+
+		Thread.sleep(100);
+		channel.runScheduledPendingTasks();
+		ExecutionException e = assertThrows(ExecutionException.class, lost::get);
+		assertTrue(e.getCause() instanceof TimeoutException);
+		// 超时释放了起点，排队的请求写出
+		assertEquals("[1]", written(channel).toString());
+
+		// 超时后才到达的响应按意外的序列号处理
+		ProtocolMsg late = response(0);
+		assertThrows(IllegalStateException.class, () -> channel.writeInbound(late));
+		assertEquals(0, late.refCnt());
+
+		channel.writeInbound(response(1));
+		next.get().release();
+		assertEquals(0, window.inFlight());
+		assertFalse(channel.finish());
+	}
+
+	@Test
+	void testInvalidWindowSize() {
+		assertThrows(IllegalArgumentException.class, () -> new ProtocolClientWindow(0));
+		assertThrows(IllegalArgumentException.class,
+				() -> new ProtocolClientWindow(ProtocolClientWindow.MAX_WINDOW_SIZE + 1));
+		assertThrows(IllegalArgumentException.class, () -> new ProtocolClientWindow(1, -1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testServerWindowPausesReading() {
+		ProtocolServerWindow window = new ProtocolServerWindow(4);
+		EmbeddedChannel channel = new EmbeddedChannel(window);
+		List<ProtocolMsg> requests = new ArrayList<ProtocolMsg>();
+		for (int i = 0; i < 4; i++) {
+			channel.writeInbound(response(i));
+			requests.add(channel.readInbound());
+		}
+		assertEquals(4, window.inFlight());
+		assertFalse(channel.config().isAutoRead());
+
+		// 乱序响应，降到一半时恢复读取
+		channel.writeOutbound(requests.get(3));
+		assertFalse(channel.config().isAutoRead());
+		channel.writeOutbound(requests.get(1));
+		assertTrue(channel.config().isAutoRead());
+		assertEquals(2, window.inFlight());
+
+		channel.writeOutbound(requests.get(0), requests.get(2));
+		assertEquals(0, window.inFlight());
+		channel.finishAndReleaseAll();
+		assertNull(channel.readOutbound());
+	}
+
+	@Test
+	void testServerWindowReleasesDroppedRequests() {
+		ProtocolServerWindow window = new ProtocolServerWindow(4);
+		ProtocolDispatcher dispatcher = new ProtocolDispatcher();
+		// 只回复偶数序列号，其余请求由分发器释放而不回复
+		dispatcher.register(MsgType.EMGW_LOGIN_REQ, (ctx, msg) -> {
+			if (msg.getProtocolHeader().getSn() % 2 == 0) {
+				ctx.write(msg.retain());
+			}
+		});
+		EmbeddedChannel channel = new EmbeddedChannel(window, dispatcher);
+		for (int i = 0; i < 12; i++) {
+			channel.writeInbound(response(i));
+			assertTrue(channel.config().isAutoRead(), "stalled at " + i);
+		}
+		assertEquals(0, window.inFlight());
+
+		// 不经过分发器直接丢弃同样归还，且只归还一次
+		EmbeddedChannel raw = new EmbeddedChannel(window = new ProtocolServerWindow(4));
+		List<ProtocolMsg> requests = new ArrayList<ProtocolMsg>();
+		for (int i = 0; i < 4; i++) {
+			raw.writeInbound(response(i));
+			requests.add(raw.readInbound());
+		}
+		assertFalse(raw.config().isAutoRead());
+		requests.get(0).release();
+		requests.get(1).retain().release();
+		assertEquals(3, window.inFlight());
+		requests.get(1).release();
+		assertTrue(raw.config().isAutoRead());
+		raw.writeOutbound(requests.get(2));
+		assertSame(requests.get(2), raw.readOutbound());
+		requests.get(2).release();
+		assertEquals(1, window.inFlight());
+
+		channel.finishAndReleaseAll();
+		raw.finishAndReleaseAll();
+	}
+}
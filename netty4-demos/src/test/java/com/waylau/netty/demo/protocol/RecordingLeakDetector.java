@@ -0,0 +1,36 @@
+package com.waylau.netty.demo.protocol;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * 记录而不是打印 ProtocolMsg 的泄漏报告，供用例断言没有泄漏.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+final class RecordingLeakDetector extends ResourceLeakDetector<ProtocolMsg> {
+
+	final List<String> leaks = new CopyOnWriteArrayList<String>();
+
+	RecordingLeakDetector() {
+		super(ProtocolMsg.class, 1);
+	}
+
+	@Override
+	protected boolean needReport() {
+		return true;
+	}
+
+	@Override
+	protected void reportTracedLeak(String resourceType, String records) {
+		leaks.add(resourceType + records);
+	}
+
+	@Override
+	protected void reportUntracedLeak(String resourceType) {
+		leaks.add(resourceType);
+	}
+}
@@ -0,0 +1,156 @@
+package com.waylau.netty.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * ByteBufObjConverter Test.
+ * 
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ByteBufObjConverterTest {
+
+	static class Point implements Serializable {
+		private static final long serialVersionUID = 1L;
+		int x;
+		String name;
+		Point self;
+
+		Point(int x, String name) {
+			this.x = x;
+			this.name = name;
+			this.self = this;
+		}
+	}
+
+	static class Holder implements Serializable {
+		private static final long serialVersionUID = 1L;
+		Object value;
+
+		Holder(Object value) {
+			this.value = value;
+		}
+	}
+
+	@Test
+	void testRoundTripCachesClassDescriptors() throws Exception {
+		ByteBufObjConverter writer = new ByteBufObjConverter();
+		ByteBufObjConverter reader = new ByteBufObjConverter(Point.class);
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			List<Integer> sizes = new ArrayList<Integer>();
+			for (int i = 0; i < 3; i++) {
+				int before = buf.writerIndex();
+				writer.writeObject(new Point(i, "p" + i), buf);
+				sizes.add(buf.writerIndex() - before);
+			}
+			// 第二个对象起只写类描述符编号
+			assertTrue(sizes.get(1) < sizes.get(0), sizes.toString());
+			assertEquals(sizes.get(1), sizes.get(2));
+
+			for (int i = 0; i < 3; i++) {
+				Point p = (Point) reader.readObject(buf);
+				assertEquals(i, p.x);
+				assertEquals("p" + i, p.name);
+				assertSame(p, p.self);
+			}
+			assertFalse(buf.isReadable());
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testSmallerThanByteObjConverter() throws Exception {
+		ByteBufObjConverter converter = new ByteBufObjConverter();
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			converter.writeObject(new Point(1, "waylau"), buf);
+			buf.clear();
+			converter.writeObject(new Point(1, "waylau"), buf);
+			@SuppressWarnings("deprecation")
+			int legacy = ByteObjConverter.ObjectToByte(new Point(1, "waylau")).length;
+			assertTrue(buf.readableBytes() < legacy);
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testWriteFailureIsRolledBack() throws Exception {
+		ByteBufObjConverter writer = new ByteBufObjConverter();
+		ByteBufObjConverter reader = new ByteBufObjConverter(Point.class, Holder.class);
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			writer.writeObject(new Point(1, "a"), buf);
+			int writerIndex = buf.writerIndex();
+			// Holder 首次出现后才失败，其编号必须被撤销
+			assertThrows(NotSerializableException.class, () -> writer.writeObject(new Holder(new Object()), buf));
+			assertEquals(writerIndex, buf.writerIndex());
+
+			writer.writeObject(new Holder(new Point(2, "b")), buf);
+			writer.writeObject(new Point(3, "c"), buf);
+
+			assertEquals(1, ((Point) reader.readObject(buf)).x);
+			assertEquals(2, ((Point) ((Holder) reader.readObject(buf)).value).x);
+			assertEquals(3, ((Point) reader.readObject(buf)).x);
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testReadFailureIsReported() throws Exception {
+		ByteBufObjConverter writer = new ByteBufObjConverter();
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			writer.writeObject(new Point(1, "a"), buf);
+			ByteBufObjConverter reader = new ByteBufObjConverter(new ClassLoader(null) {
+			}, Point.class);
+			// ObjectInputStream 把读取类描述符时的 ClassNotFoundException 包装为 InvalidClassException
+			InvalidClassException e = assertThrows(InvalidClassException.class, () -> reader.readObject(buf.duplicate()));
+			assertTrue(e.getCause() instanceof ClassNotFoundException);
+
+			ByteBuf truncated = buf.slice(0, buf.readableBytes() / 2);
+			assertThrows(IOException.class, () -> new ByteBufObjConverter(Point.class).readObject(truncated));
+		} finally {
+			buf.release();
+		}
+	}
+
+	@Test
+	void testDisallowedClassIsRejected() throws Exception {
+		ByteBufObjConverter writer = new ByteBufObjConverter();
+		ByteBuf buf = Unpooled.buffer();
+		try {
+			writer.writeObject(new Holder(new ArrayList<String>()), buf);
+			// Holder.value 声明为 Object，ArrayList 未被允许
+			InvalidClassException e = assertThrows(InvalidClassException.class,
+					() -> new ByteBufObjConverter(Holder.class).readObject(buf.duplicate()));
+			assertEquals(ArrayList.class.getName(), e.classname);
+			// 未允许的顶层类同样被拒绝
+			assertThrows(InvalidClassException.class, () -> new ByteBufObjConverter(Point.class).readObject(buf.duplicate()));
+
+			Holder holder = (Holder) new ByteBufObjConverter(Holder.class, ArrayList.class).readObject(buf);
+			assertEquals(new ArrayList<String>(), holder.value);
+		} finally {
+			buf.release();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.waylau.netty.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * ServerBootstrapFactory Test.
+ *
+ * @since 1.0.0 2026年10月18日
+ * @author <a href="https://waylau.com">Way Lau</a>
+ */
+class ServerBootstrapFactoryTest {
+
+	@Test
+	void testDefaults() {
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder(new Properties()).build();
+		assertSame(Epoll.isAvailable() ? Transport.EPOLL : Transport.NIO, factory.transport());
+
+		ServerBootstrap b = factory.newServerBootstrap();
+		Map<ChannelOption<?>, Object> childOptions = b.config().childOptions();
+		assertEquals(Boolean.TRUE, childOptions.get(ChannelOption.TCP_NODELAY));
+		assertSame(PooledByteBufAllocator.DEFAULT, childOptions.get(ChannelOption.ALLOCATOR));
+		assertSame(PooledByteBufAllocator.DEFAULT, b.config().options().get(ChannelOption.ALLOCATOR));
+		assertEquals("WriteBufferWaterMark(low: 32768, high: 65536)",
+				childOptions.get(ChannelOption.WRITE_BUFFER_WATER_MARK).toString());
+		// 未配置时保留操作系统的自动调整
+		assertFalse(childOptions.containsKey(ChannelOption.SO_RCVBUF));
+		assertFalse(childOptions.containsKey(ChannelOption.SO_SNDBUF));
+	}
+
+	@Test
+	void testFromProperties() {
+		Properties properties = new Properties();
+		properties.setProperty("netty.transport", "nio");
+		properties.setProperty("netty.tcp.nodelay", "false");
+		properties.setProperty("netty.so.rcvbuf", "131072");
+		properties.setProperty("netty.so.sndbuf", "262144");
+		properties.setProperty("netty.write.buffer.low", "1024");
+		properties.setProperty("netty.write.buffer.high", "4096");
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder(properties).build();
+		assertSame(Transport.NIO, factory.transport());
+
+		ServerBootstrap b = factory.newServerBootstrap();
+		assertTrue(b.toString().contains(NioServerSocketChannel.class.getSimpleName()), b.toString());
+		Map<ChannelOption<?>, Object> childOptions = b.config().childOptions();
+		assertEquals(Boolean.FALSE, childOptions.get(ChannelOption.TCP_NODELAY));
+		assertEquals(131072, childOptions.get(ChannelOption.SO_RCVBUF));
+		assertEquals(262144, childOptions.get(ChannelOption.SO_SNDBUF));
+		assertEquals("WriteBufferWaterMark(low: 1024, high: 4096)",
+				childOptions.get(ChannelOption.WRITE_BUFFER_WATER_MARK).toString());
+	}
+
+	@Test
+	void testInvalidConfig() {
+		Properties properties = new Properties();
+		properties.setProperty("netty.transport", "unknown");
+		assertThrows(IllegalArgumentException.class, () -> ServerBootstrapFactory.builder(properties));
+		assertThrows(IllegalArgumentException.class, () -> ServerBootstrapFactory.builder().workerThreads(-1));
+		assertThrows(IllegalArgumentException.class, () -> ServerBootstrapFactory.builder().writeBufferWaterMark(10, 5));
+	}
+
+	@Test
+	void testTransportOf() {
+		assertSame(Transport.best(), Transport.of(null));
+		assertSame(Transport.best(), Transport.of("AUTO"));
+		assertSame(Transport.EPOLL, Transport.of(" epoll "));
+		assertThrows(IllegalArgumentException.class, () -> Transport.of("oio"));
+		assertSame(Transport.IO_URING, Transport.of("io_uring"));
+	}
+
+	@Test
+	void testFallback() {
+		assertSame(Transport.NIO, Transport.NIO.orBest());
+		Transport expected = Transport.IO_URING.isAvailable() ? Transport.IO_URING : Transport.best();
+		assertSame(expected, Transport.IO_URING.orBest());
+		assertSame(expected, ServerBootstrapFactory.builder().transport(Transport.IO_URING).build().transport());
+	}
+
+	@ParameterizedTest
+	@EnumSource(Transport.class)
+	void testAcceptedChannelIsTuned(Transport transport) throws Exception {
+		if (!transport.isAvailable()) {
+			return;
+		}
+		ServerBootstrapFactory factory = ServerBootstrapFactory.builder()
+				.transport(transport)
+				.workerThreads(1)
+				.receiveBufferSize(64 * 1024)
+				.build();
+		EventLoopGroup bossGroup = factory.newBossGroup();
+		EventLoopGroup workerGroup = factory.newWorkerGroup();
+		EventLoopGroup clientGroup = transport.newEventLoopGroup(1);
+		CompletableFuture<ChannelConfig> accepted = new CompletableFuture<ChannelConfig>();
+		try {
+			ServerBootstrap b = factory.newServerBootstrap();
+			b.group(bossGroup, workerGroup)
+			 .childHandler(new ChannelInboundHandlerAdapter() {
+				 @Override
+				 public void channelActive(ChannelHandlerContext ctx) {
+					 accepted.complete(ctx.channel().config());
+				 }
+			 });
+			Channel server = b.bind("localhost", 0).sync().channel();
+			if (transport == Transport.EPOLL) {
+				assertTrue(server instanceof EpollServerSocketChannel);
+			}
+
+			Channel client = new Bootstrap()
+					.group(clientGroup)
+					.channel(transport.socketChannelClass())
+					.handler(new ChannelInboundHandlerAdapter())
+					.connect(server.localAddress())
+					.sync().channel();
+			ChannelConfig config = accepted.get(10, TimeUnit.SECONDS);
+			assertEquals(Boolean.TRUE, config.getOption(ChannelOption.TCP_NODELAY));
+			assertSame(PooledByteBufAllocator.DEFAULT, config.getAllocator());
+			assertEquals(ServerBootstrapFactory.DEFAULT_WRITE_BUFFER_HIGH, config.getWriteBufferHighWaterMark());
+			// 内核可能把缓冲区大小翻倍
+			assertTrue(config.getOption(ChannelOption.SO_RCVBUF) >= 64 * 1024);
+			assertTrue(((InetSocketAddress) server.localAddress()).getPort() > 0);
+
+			client.close().sync();
+			server.close().sync();
+		} finally {
+			clientGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+			workerGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+			bossGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+		}
+	}
+}